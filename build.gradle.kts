@@ -47,6 +47,15 @@ dependencies {
 
     // Enable lombok annotation processing
     annotationProcessor("org.projectlombok:lombok:1.18.16")
+
+    // Dependencies of the unit tests
+    testImplementation("org.junit.jupiter:junit-jupiter:5.7.1")
+    testImplementation("org.mockito:mockito-inline:3.8.0")
+}
+
+configurations.testImplementation {
+    // The unit tests need the dependencies which are provided by the server at runtime
+    extendsFrom(configurations.shadow.get())
 }
 
 tasks {
@@ -69,6 +78,10 @@ tasks {
     compileJava {
         options.encoding = "UTF-8"
     }
+
+    test {
+        useJUnitPlatform()
+    }
 }
 
 publishing {
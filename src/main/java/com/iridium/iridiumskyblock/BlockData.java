@@ -1,6 +1,7 @@
 package com.iridium.iridiumskyblock;
 
 import com.iridium.iridiumskyblock.utils.ItemStackUtils;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.bukkit.Material;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
  */
 @Getter
 @NoArgsConstructor
+@AllArgsConstructor
 public class BlockData {
 
     private Material material;
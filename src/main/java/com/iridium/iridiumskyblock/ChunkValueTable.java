@@ -0,0 +1,140 @@
+package com.iridium.iridiumskyblock;
+
+import com.iridium.iridiumskyblock.database.Island;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The amounts of valuable blocks in every chunk of an {@link Island} as of their last scan.
+ * Recalculations only have to rescan the chunks which have changed since.
+ * Uses the same indexes as the {@link ValuableBlockTable} and is only used on the main thread.
+ */
+public class ChunkValueTable {
+
+    private final Map<Long, int[]> chunkAmounts = new HashMap<>();
+    private final Set<Long> dirtyChunks = new HashSet<>();
+    private int[] amounts;
+
+    // Whether or not every chunk of the Island has been scanned
+    @Getter
+    @Setter
+    private boolean complete;
+
+    // Whether or not a recalculation is currently running
+    @Getter
+    @Setter
+    private boolean scanning;
+
+    // Incremented when the table is cleared, results of scans started before are outdated
+    @Getter
+    private int generation;
+
+    /**
+     * The default constructor.
+     */
+    public ChunkValueTable() {
+        this.amounts = new int[IridiumSkyblock.getInstance().getValuableBlockList().size()];
+    }
+
+    /**
+     * Returns the key of a chunk.
+     *
+     * @param chunkX The x position of the chunk
+     * @param chunkZ The z position of the chunk
+     * @return The key of the chunk
+     */
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Returns the x position of a chunk.
+     *
+     * @param chunkKey The key of the chunk
+     * @return The x position of the chunk
+     */
+    public static int getChunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    /**
+     * Returns the z position of a chunk.
+     *
+     * @param chunkKey The key of the chunk
+     * @return The z position of the chunk
+     */
+    public static int getChunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * Marks a chunk as changed, so it is scanned again by the next recalculation.
+     *
+     * @param chunkX The x position of the chunk
+     * @param chunkZ The z position of the chunk
+     */
+    public void markDirty(int chunkX, int chunkZ) {
+        dirtyChunks.add(getChunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Returns the amount of chunks which have changed since the last recalculation.
+     *
+     * @return The amount of changed chunks
+     */
+    public int getDirtyChunkCount() {
+        return dirtyChunks.size();
+    }
+
+    /**
+     * Returns the chunks which have changed since the last call and unmarks them.
+     *
+     * @return The keys of the changed chunks
+     */
+    public Set<Long> pollDirtyChunks() {
+        Set<Long> chunks = new HashSet<>(dirtyChunks);
+        dirtyChunks.clear();
+        return chunks;
+    }
+
+    /**
+     * Replaces the amounts of a chunk with the result of a new scan.
+     * The old amounts of the chunk are subtracted from the total amounts and the new ones are added.
+     *
+     * @param chunkKey     The key of the chunk
+     * @param chunkAmounts The amount of every valuable block in the chunk by its index
+     */
+    public void setChunkAmounts(long chunkKey, int[] chunkAmounts) {
+        int[] previousAmounts = this.chunkAmounts.put(chunkKey, chunkAmounts);
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] += chunkAmounts[i] - (previousAmounts != null ? previousAmounts[i] : 0);
+        }
+    }
+
+    /**
+     * Returns the total amounts of all scanned chunks.
+     *
+     * @return The amount of every valuable block by its index
+     */
+    public int[] getAmounts() {
+        return amounts;
+    }
+
+    /**
+     * Removes all amounts, so every chunk is scanned again by the next recalculation.
+     * Has to be called after the blocks of the Island have been replaced or the valuable blocks have been reloaded.
+     */
+    public void clear() {
+        chunkAmounts.clear();
+        dirtyChunks.clear();
+        amounts = new int[IridiumSkyblock.getInstance().getValuableBlockList().size()];
+        complete = false;
+        generation++;
+    }
+
+}
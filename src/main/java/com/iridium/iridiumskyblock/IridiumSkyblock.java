@@ -1,23 +1,30 @@
 package com.iridium.iridiumskyblock;
 
+import com.cryptomorin.xseries.XMaterial;
 import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
 import com.iridium.iridiumskyblock.bank.BankItem;
 import com.iridium.iridiumskyblock.commands.CommandManager;
 import com.iridium.iridiumskyblock.configs.*;
-import com.iridium.iridiumskyblock.database.Island;
 import com.iridium.iridiumskyblock.generators.SkyblockGenerator;
 import com.iridium.iridiumskyblock.listeners.*;
 import com.iridium.iridiumskyblock.managers.DatabaseManager;
 import com.iridium.iridiumskyblock.managers.IslandManager;
+import com.iridium.iridiumskyblock.managers.IslandPoolManager;
+import com.iridium.iridiumskyblock.managers.IslandPositionManager;
+import com.iridium.iridiumskyblock.managers.RecalculationManager;
 import com.iridium.iridiumskyblock.managers.SchematicManager;
 import com.iridium.iridiumskyblock.managers.UserManager;
+import com.iridium.iridiumskyblock.managers.WorkManager;
 import com.iridium.iridiumskyblock.nms.NMS;
 import com.iridium.iridiumskyblock.nms.v1_16_R3;
 import com.iridium.iridiumskyblock.utils.PlayerUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.event.HandlerList;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -26,7 +33,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The main class of this plugin which handles initialization
@@ -45,6 +51,10 @@ public class IridiumSkyblock extends JavaPlugin {
     private IslandManager islandManager;
     private UserManager userManager;
     private SchematicManager schematicManager;
+    private WorkManager workManager;
+    private RecalculationManager recalculationManager;
+    private IslandPoolManager islandPoolManager;
+    private IslandPositionManager islandPositionManager;
 
     private Configuration configuration;
     private Messages messages;
@@ -60,9 +70,19 @@ public class IridiumSkyblock extends JavaPlugin {
     private List<Permission> permissionList;
     private List<BankItem> bankItemList;
     private HashMap<String, Mission> missionsList;
+    private List<XMaterial> valuableBlockList;
+    @Getter(AccessLevel.NONE)
+    private int[] valuableBlockIndexes;
+    @Getter(AccessLevel.NONE)
+    private double[] valuableBlockValues;
+    // The index of the valuable block of every Material by its ordinal, replaced instead of modified on reloads
+    private int[] materialValuableBlockIndexes;
 
     private Economy economy;
 
+    // False until all data has been loaded, nothing may access the database before
+    private volatile boolean loaded;
+
     /**
      * The default constructor.
      */
@@ -93,6 +113,8 @@ public class IridiumSkyblock extends JavaPlugin {
      */
     @Override
     public void onEnable() {
+        long start = System.currentTimeMillis();
+
         // Create the data folder in order to make Jackson work
         getDataFolder().mkdir();
 
@@ -100,58 +122,66 @@ public class IridiumSkyblock extends JavaPlugin {
         this.persist = new Persist(Persist.PersistType.YAML, this);
         loadConfigs();
         saveConfigs();
+        getLogger().info("Loaded the configs in " + (System.currentTimeMillis() - start) + "ms");
 
-        // Initialize the commands
+        // Initialize the commands, they are rejected until the data has been loaded
         this.commandManager = new CommandManager("iridiumskyblock");
 
         // Try to connect to the database
+        long databaseStart = System.currentTimeMillis();
         try {
             this.databaseManager = new DatabaseManager();
         } catch (SQLException exception) {
             // We don't want the plugin to start if the connection fails
             exception.printStackTrace();
             Bukkit.getPluginManager().disablePlugin(this);
+            return;
         }
+        getLogger().info("Connected to the database in " + (System.currentTimeMillis() - databaseStart) + "ms");
 
         // Initialize the manager classes (bad) and create the world
+        long worldStart = System.currentTimeMillis();
         this.islandManager = new IslandManager();
         this.userManager = new UserManager();
+        this.workManager = new WorkManager();
+        this.recalculationManager = new RecalculationManager();
+        this.islandPoolManager = new IslandPoolManager();
+        this.islandPositionManager = new IslandPositionManager();
         this.islandManager.createWorld(World.Environment.NORMAL, configuration.worldName);
+        getLogger().info("Created the world in " + (System.currentTimeMillis() - worldStart) + "ms");
 
         // Initialize the API
         IridiumSkyblockAPI.initializeAPI(this);
 
-        this.schematicManager = new SchematicManager();
-
-        // Save data regularly
-        Bukkit.getScheduler().scheduleAsyncRepeatingTask(this, this::saveData, 0, 20 * 60 * 5);
-
-        registerListeners();
-
         // TODO: Add other NMS versions, use the right one automatically
         this.nms = new v1_16_R3();
 
         // Initialize Vault economy support
         this.economy = setupEconomy();
 
-        // Send island border to all players
-        Bukkit.getOnlinePlayers().forEach(player -> IridiumSkyblockAPI.getInstance().getIslandViaLocation(player.getLocation()).ifPresent(island -> PlayerUtils.sendBorder(player, island)));
-
-        // Auto recalculate islands
-        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, new Runnable() {
-            ListIterator<Integer> islands = getDatabaseManager().getIslandList().stream().map(Island::getId).collect(Collectors.toList()).listIterator();
-
-            @Override
-            public void run() {
-                if (!islands.hasNext()) {
-                    islands = getDatabaseManager().getIslandList().stream().map(Island::getId).collect(Collectors.toList()).listIterator();
-                } else {
-                    getIslandManager().getIslandById(islands.next()).ifPresent(island -> getIslandManager().recalculateIsland(island));
-                }
-            }
-        }, 0, getConfiguration().islandRecalculateInterval * 20L);
-
-        resetIslandMissions();
+        // Keep players from changing anything until the data has been loaded
+        LoadingListener loadingListener = new LoadingListener();
+        Bukkit.getPluginManager().registerEvents(loadingListener, this);
+
+        // Load the data and decode the schematics off the main thread
+        long loadStart = System.currentTimeMillis();
+        getDatabaseManager().loadData().thenRun(() -> {
+            getLogger().info("Loaded the data in " + (System.currentTimeMillis() - loadStart) + "ms");
+            long schematicStart = System.currentTimeMillis();
+            this.schematicManager = new SchematicManager();
+            getLogger().info("Decoded the schematics in " + (System.currentTimeMillis() - schematicStart) + "ms");
+
+            Bukkit.getScheduler().runTask(this, () -> {
+                onDataLoaded();
+                HandlerList.unregisterAll(loadingListener);
+                getLogger().info("Startup finished after " + (System.currentTimeMillis() - start) + "ms");
+            });
+        }).exceptionally(throwable -> {
+            // We don't want the plugin to run without its data
+            throwable.printStackTrace();
+            Bukkit.getScheduler().runTask(this, () -> Bukkit.getPluginManager().disablePlugin(this));
+            return null;
+        });
 
         getLogger().info("----------------------------------------");
         getLogger().info("");
@@ -161,6 +191,41 @@ public class IridiumSkyblock extends JavaPlugin {
         getLogger().info("----------------------------------------");
     }
 
+    /**
+     * Starts everything which needs the data from the database.
+     * Called on the main thread after all data has been loaded.
+     */
+    private void onDataLoaded() {
+        islandManager.loadLeaderboard();
+        islandPositionManager.load();
+        islandPoolManager.load();
+
+        // Save data regularly
+        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, this::saveData, 0, 20 * 60 * 5);
+
+        // Keep the amount of cached data limited
+        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, getDatabaseManager()::evictCache, 20 * 60, 20 * 60);
+
+        // Run heavy world operations within the time budget of every tick
+        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, workManager::tick, 0, 1);
+
+        // Paste islands in advance while nothing else is pasted or cleared
+        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, islandPoolManager::refill, getConfiguration().islandPoolRefillInterval, getConfiguration().islandPoolRefillInterval);
+
+        registerListeners();
+
+        // Send island border to all players
+        Bukkit.getOnlinePlayers().forEach(player -> IridiumSkyblockAPI.getInstance().getIslandViaLocation(player.getLocation()).ifPresent(island -> PlayerUtils.sendBorder(player, island)));
+
+        // Auto recalculate the islands which need it the most
+        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, recalculationManager::refresh, 0, getConfiguration().islandRecalculateInterval * 20L);
+        Bukkit.getScheduler().scheduleSyncRepeatingTask(this, recalculationManager::tick, 0, 1);
+
+        resetIslandMissions();
+
+        this.loaded = true;
+    }
+
     /**
      * Automatically resets the Island missions in a defined time intervall.
      */
@@ -172,13 +237,25 @@ public class IridiumSkyblock extends JavaPlugin {
         c.set(Calendar.SECOND, 0);
         c.set(Calendar.MILLISECOND, 0);
 
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                IridiumSkyblock.getInstance().getDatabaseManager().deleteDailyMissions();
-                Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> resetIslandMissions());
+        scheduleIslandMissionReset(c.getTimeInMillis());
+    }
+
+    /**
+     * Resets the Island missions once the provided time has been reached.
+     * Ticks take longer than 50ms when the server lags, so the time is checked again at least every minute.
+     *
+     * @param resetTime The time of the reset in milliseconds
+     */
+    private void scheduleIslandMissionReset(long resetTime) {
+        long delay = (resetTime - System.currentTimeMillis()) / 50;
+        Bukkit.getScheduler().runTaskLater(this, () -> {
+            if (System.currentTimeMillis() < resetTime) {
+                scheduleIslandMissionReset(resetTime);
+                return;
             }
-        }, c.getTime());
+            getDatabaseManager().deleteDailyMissions();
+            resetIslandMissions();
+        }, Math.max(1, Math.min(delay, 1200)));
     }
 
     /**
@@ -195,7 +272,7 @@ public class IridiumSkyblock extends JavaPlugin {
      */
     @Override
     public void onDisable() {
-        saveData();
+        if (databaseManager != null) databaseManager.shutdown();
         getLogger().info("-------------------------------");
         getLogger().info("");
         getLogger().info(getDescription().getName() + " Disabled!");
@@ -212,6 +289,7 @@ public class IridiumSkyblock extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new PlayerJoinListener(), this);
         Bukkit.getPluginManager().registerEvents(new BlockBreakListener(), this);
         Bukkit.getPluginManager().registerEvents(new BlockPlaceListener(), this);
+        Bukkit.getPluginManager().registerEvents(new BlockChangeListener(), this);
         Bukkit.getPluginManager().registerEvents(new BucketListener(), this);
         Bukkit.getPluginManager().registerEvents(new PlayerInteractListener(), this);
         Bukkit.getPluginManager().registerEvents(new EntityDamageListener(), this);
@@ -230,13 +308,7 @@ public class IridiumSkyblock extends JavaPlugin {
      * Saves islands, users and other data to the database.
      */
     public void saveData() {
-        getDatabaseManager().saveIslands();
-        getDatabaseManager().saveUsers();
-        getDatabaseManager().saveIslandInvites();
-        getDatabaseManager().saveIslandPermissions();
-        getDatabaseManager().saveIslandBlocks();
-        getDatabaseManager().saveIslandBank();
-        getDatabaseManager().saveIslandMissions();
+        getDatabaseManager().saveAsync();
     }
 
     /**
@@ -288,12 +360,81 @@ public class IridiumSkyblock extends JavaPlugin {
         this.permissionList.add(permissions.dropItems);
         this.permissionList.add(permissions.interactEntities);
 
+        // Every permission gets a bit in the PermissionTable of an Island
+        if (permissionList.size() > Long.SIZE) {
+            throw new IllegalStateException("There are more than " + Long.SIZE + " Island permissions");
+        }
+        for (int i = 0; i < permissionList.size(); i++) {
+            permissionList.get(i).setIndex(i);
+        }
+
         this.bankItemList = new ArrayList<>();
         this.bankItemList.add(bankItems.crystalsBankItem);
         this.bankItemList.add(bankItems.experienceBankItem);
         this.bankItemList.add(bankItems.moneyBankItem);
 
         this.missionsList = new HashMap<>(missions.missions);
+
+        loadValuableBlocks();
+    }
+
+    /**
+     * Assigns an index to every valuable block.
+     * Moves the block amounts of already loaded Islands to the new indexes.
+     *
+     * @see ValuableBlockTable
+     */
+    private void loadValuableBlocks() {
+        boolean reload = this.valuableBlockList != null;
+
+        this.valuableBlockList = new ArrayList<>(blockValues.blockValues.keySet());
+        this.valuableBlockIndexes = new int[XMaterial.values().length];
+        this.valuableBlockValues = new double[valuableBlockList.size()];
+        Arrays.fill(valuableBlockIndexes, -1);
+        for (int i = 0; i < valuableBlockList.size(); i++) {
+            valuableBlockIndexes[valuableBlockList.get(i).ordinal()] = i;
+            valuableBlockValues[i] = blockValues.blockValues.get(valuableBlockList.get(i)).value;
+        }
+
+        // Matching Materials is slow, so it's only done once for every Material
+        int[] materialValuableBlockIndexes = new int[Material.values().length];
+        Arrays.fill(materialValuableBlockIndexes, -1);
+        for (Material material : Material.values()) {
+            if (material.isLegacy()) continue;
+            XMaterial.matchXMaterial(material.name()).ifPresent(xMaterial -> materialValuableBlockIndexes[material.ordinal()] = valuableBlockIndexes[xMaterial.ordinal()]);
+        }
+        this.materialValuableBlockIndexes = materialValuableBlockIndexes;
+
+        if (reload && databaseManager != null && islandManager != null) {
+            databaseManager.getIslandList().forEach(island -> {
+                island.getChunkValueTable().clear();
+                island.setLastFullScan(0);
+                // Islands whose data isn't loaded have no amounts, they are remapped when their data is loaded
+                if (!databaseManager.isIslandDataLoaded(island)) return;
+                island.getValuableBlockTable().remap();
+                islandManager.setIslandValue(island, island.getValuableBlockTable().getValue());
+            });
+        }
+    }
+
+    /**
+     * Returns the index of a valuable block.
+     *
+     * @param material The material of the block
+     * @return The index of the block, -1 if it isn't valuable
+     */
+    public int getValuableBlockIndex(@NotNull XMaterial material) {
+        return valuableBlockIndexes[material.ordinal()];
+    }
+
+    /**
+     * Returns the value of a valuable block.
+     *
+     * @param index The index of the valuable block
+     * @return The value of one block
+     */
+    public double getValuableBlockValue(int index) {
+        return valuableBlockValues[index];
     }
 
     /**
@@ -0,0 +1,209 @@
+package com.iridium.iridiumskyblock;
+
+import com.iridium.iridiumskyblock.database.Island;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Ranks Islands by their value.
+ * Backed by a treap where every node knows the size of its subtree,
+ * so updates and rank lookups take O(log n) and reading the top k Islands takes O(k + log n).
+ * Islands with the same value are ordered by their id.
+ */
+public class IslandLeaderboard {
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Adds an Island or moves it to the position of its current value.
+     * Has to be called whenever the value of an Island changes.
+     *
+     * @param island The Island which should be updated
+     */
+    public synchronized void update(@NotNull Island island) {
+        Node node = nodes.get(island.getId());
+        if (node != null) {
+            if (node.value == island.getValue() && node.island == island) return;
+            root = remove(root, node);
+        }
+
+        Node newNode = new Node(island, random.nextInt());
+        nodes.put(island.getId(), newNode);
+        root = insert(root, newNode);
+    }
+
+    /**
+     * Removes an Island from the leaderboard.
+     *
+     * @param island The Island which should be removed
+     */
+    public synchronized void remove(@NotNull Island island) {
+        Node node = nodes.remove(island.getId());
+        if (node != null) {
+            root = remove(root, node);
+        }
+    }
+
+    /**
+     * Returns the rank of an Island, starting at 1 for the most valuable one.
+     *
+     * @param island The specified Island
+     * @return The rank of the Island, 0 if it isn't ranked
+     */
+    public synchronized int getRank(@NotNull Island island) {
+        Node node = nodes.get(island.getId());
+        if (node == null) return 0;
+
+        int rank = 1;
+        Node current = root;
+        while (current != null) {
+            int comparison = compare(node, current);
+            if (comparison < 0) {
+                current = current.left;
+            } else if (comparison > 0) {
+                rank += size(current.left) + 1;
+                current = current.right;
+            } else {
+                rank += size(current.left);
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the most valuable Islands, ordered by their rank.
+     *
+     * @param amount The maximum amount of Islands
+     * @return A list with at most the specified amount of Islands
+     */
+    public synchronized @NotNull List<Island> getTop(int amount) {
+        List<Island> islands = new ArrayList<>(Math.min(amount, nodes.size()));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while ((current != null || !stack.isEmpty()) && islands.size() < amount) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            islands.add(current.island);
+            current = current.right;
+        }
+        return islands;
+    }
+
+    /**
+     * Returns the amount of ranked Islands.
+     *
+     * @return The amount of Islands
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    private Node insert(Node tree, Node node) {
+        if (tree == null) return node;
+
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+            if (tree.left.priority > tree.priority) tree = rotateRight(tree);
+        } else {
+            tree.right = insert(tree.right, node);
+            if (tree.right.priority > tree.priority) tree = rotateLeft(tree);
+        }
+        updateSize(tree);
+        return tree;
+    }
+
+    private Node remove(Node tree, Node node) {
+        if (tree == null) return null;
+
+        int comparison = compare(node, tree);
+        if (comparison < 0) {
+            tree.left = remove(tree.left, node);
+        } else if (comparison > 0) {
+            tree.right = remove(tree.right, node);
+        } else {
+            tree = merge(tree.left, tree.right);
+        }
+        if (tree != null) updateSize(tree);
+        return tree;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            updateSize(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            updateSize(right);
+            return right;
+        }
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        updateSize(node);
+        updateSize(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        updateSize(node);
+        updateSize(right);
+        return right;
+    }
+
+    private void updateSize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Compares two nodes, the more valuable Island comes first.
+     */
+    private int compare(Node a, Node b) {
+        int comparison = Double.compare(b.value, a.value);
+        return comparison != 0 ? comparison : Integer.compare(a.id, b.id);
+    }
+
+    /**
+     * A node of the treap.
+     * Stores the value of the Island at the time it was inserted.
+     */
+    private static class Node {
+
+        private final Island island;
+        private final int id;
+        private final double value;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Island island, int priority) {
+            this.island = island;
+            this.id = island.getId();
+            this.value = island.getValue();
+            this.priority = priority;
+        }
+
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.iridium.iridiumskyblock;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 /**
  * Represents a permission in the Island permissions system.
@@ -24,6 +26,13 @@ public class Permission {
      * All Ranks lower than this are denied this permission and all Ranks higher or equal are allowed
      */
     private IslandRank defaultRank;
+    /**
+     * The bit index of the permission in a {@link PermissionTable}.
+     * Assigned when the configs are loaded
+     */
+    @JsonIgnore
+    @Setter
+    private int index;
 
     /**
      * The default constructor.
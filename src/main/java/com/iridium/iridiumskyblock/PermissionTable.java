@@ -0,0 +1,91 @@
+package com.iridium.iridiumskyblock;
+
+import com.iridium.iridiumskyblock.database.IslandPermission;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The compiled permissions of an Island.
+ * Stores one bitmask per {@link IslandRank}, using the bit index assigned to every {@link Permission}
+ * in {@link IridiumSkyblock#loadConfigs()}.
+ * Permissions which have not been changed fall back to {@link Permission#getDefaultRank()}.
+ */
+public class PermissionTable {
+
+    private final long[] allowed = new long[IslandRank.values().length];
+    private final long[] changed = new long[IslandRank.values().length];
+    // The database rows backing this table, only created for ranks which have changed permissions
+    private final IslandPermission[][] islandPermissions = new IslandPermission[IslandRank.values().length][];
+
+    /**
+     * Gets whether an IslandRank has the permission.
+     *
+     * @param islandRank The specified Rank
+     * @param permission The specified Permission
+     * @return If the permission is allowed
+     */
+    public boolean isAllowed(@NotNull IslandRank islandRank, @NotNull Permission permission) {
+        long bit = 1L << permission.getIndex();
+        if ((changed[islandRank.ordinal()] & bit) == 0) {
+            return islandRank.getLevel() >= permission.getDefaultRank().getLevel();
+        }
+        return (allowed[islandRank.ordinal()] & bit) != 0;
+    }
+
+    /**
+     * Sets whether a permission is allowed or denied for the specified IslandRank.
+     *
+     * @param islandRank The specified Rank
+     * @param permission The specified Permission
+     * @param allowed    If the permission is allowed
+     */
+    public void setAllowed(@NotNull IslandRank islandRank, @NotNull Permission permission, boolean allowed) {
+        long bit = 1L << permission.getIndex();
+        changed[islandRank.ordinal()] |= bit;
+        if (allowed) {
+            this.allowed[islandRank.ordinal()] |= bit;
+        } else {
+            this.allowed[islandRank.ordinal()] &= ~bit;
+        }
+    }
+
+    /**
+     * Removes all permissions and database rows from this table.
+     * Every permission falls back to its default afterwards.
+     */
+    public void clear() {
+        Arrays.fill(allowed, 0);
+        Arrays.fill(changed, 0);
+        Arrays.fill(islandPermissions, null);
+    }
+
+    /**
+     * Returns the database row of a permission.
+     *
+     * @param islandRank The specified Rank
+     * @param permission The specified Permission
+     * @return The IslandPermission, null if this permission has never been changed
+     */
+    public @Nullable IslandPermission getIslandPermission(@NotNull IslandRank islandRank, @NotNull Permission permission) {
+        IslandPermission[] rankPermissions = islandPermissions[islandRank.ordinal()];
+        return rankPermissions == null ? null : rankPermissions[permission.getIndex()];
+    }
+
+    /**
+     * Adds a database row of a permission and applies its value.
+     *
+     * @param permission       The Permission of the row
+     * @param islandPermission The IslandPermission which should be added
+     */
+    public void addIslandPermission(@NotNull Permission permission, @NotNull IslandPermission islandPermission) {
+        int rank = islandPermission.getRank().ordinal();
+        if (islandPermissions[rank] == null) {
+            islandPermissions[rank] = new IslandPermission[Long.SIZE];
+        }
+        islandPermissions[rank][permission.getIndex()] = islandPermission;
+        setAllowed(islandPermission.getRank(), permission, islandPermission.isAllowed());
+    }
+
+}
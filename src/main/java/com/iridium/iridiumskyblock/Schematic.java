@@ -1,5 +1,6 @@
 package com.iridium.iridiumskyblock;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.bukkit.Location;
@@ -14,6 +15,7 @@ import org.bukkit.block.Block;
  */
 @Getter
 @NoArgsConstructor
+@AllArgsConstructor
 public class Schematic {
 
     private BlockData[][][] blockData;
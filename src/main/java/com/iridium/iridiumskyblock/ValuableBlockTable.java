@@ -0,0 +1,158 @@
+package com.iridium.iridiumskyblock;
+
+import com.cryptomorin.xseries.XMaterial;
+import com.iridium.iridiumskyblock.database.Island;
+import com.iridium.iridiumskyblock.database.IslandBlocks;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The amounts of valuable blocks on an Island.
+ * Uses the index assigned to every valuable block in {@link IridiumSkyblock#loadConfigs()}.
+ * The {@link IslandBlocks} database rows are only updated when the table is saved.
+ *
+ * @see com.iridium.iridiumskyblock.configs.BlockValues
+ */
+public class ValuableBlockTable {
+
+    private int[] amounts;
+    private IslandBlocks[] islandBlocks;
+    // The valuable blocks the indexes of this table belong to
+    private List<XMaterial> valuableBlocks;
+
+    /**
+     * The default constructor.
+     */
+    public ValuableBlockTable() {
+        this.valuableBlocks = IridiumSkyblock.getInstance().getValuableBlockList();
+        int size = valuableBlocks.size();
+        this.amounts = new int[size];
+        this.islandBlocks = new IslandBlocks[size];
+    }
+
+    /**
+     * Returns the amount of a valuable block.
+     *
+     * @param index The index of the valuable block
+     * @return The amount of this block
+     */
+    public int getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Changes the amount of a valuable block.
+     * The amount never drops below 0.
+     *
+     * @param index  The index of the valuable block
+     * @param amount The amount which should be added, negative to remove blocks
+     * @return The amount which has actually been added
+     */
+    public int addAmount(int index, int amount) {
+        int previousAmount = amounts[index];
+        amounts[index] = Math.max(0, previousAmount + amount);
+        return amounts[index] - previousAmount;
+    }
+
+    /**
+     * Replaces the amounts of all valuable blocks.
+     *
+     * @param amounts The amount of every valuable block by its index
+     */
+    public void setAmounts(int[] amounts) {
+        remap();
+        System.arraycopy(amounts, 0, this.amounts, 0, this.amounts.length);
+    }
+
+    /**
+     * Calculates the total value of all valuable blocks in this table.
+     *
+     * @return The value of the blocks
+     */
+    public double getValue() {
+        double value = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            value += amounts[i] * IridiumSkyblock.getInstance().getValuableBlockValue(i);
+        }
+        return value;
+    }
+
+    /**
+     * Sets the amount of all valuable blocks to 0.
+     */
+    public void reset() {
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 0;
+        }
+    }
+
+    /**
+     * Removes all amounts and database rows from this table.
+     */
+    public void clear() {
+        reset();
+        Arrays.fill(islandBlocks, null);
+    }
+
+    /**
+     * Adds a database row of a valuable block and applies its amount.
+     *
+     * @param index        The index of the valuable block
+     * @param islandBlocks The IslandBlocks which should be added
+     */
+    public void addIslandBlocks(int index, @NotNull IslandBlocks islandBlocks) {
+        this.islandBlocks[index] = islandBlocks;
+        this.amounts[index] = islandBlocks.getAmount();
+    }
+
+    /**
+     * Writes the amounts into the database rows.
+     * Only rows whose amount differs are marked as changed.
+     * Rows are created for blocks which are on the island and don't have one yet.
+     *
+     * @param island The Island this table belongs to
+     * @return The newly created rows
+     */
+    public @NotNull List<IslandBlocks> updateIslandBlocks(@NotNull Island island) {
+        List<IslandBlocks> created = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            if (islandBlocks[i] == null) {
+                if (amounts[i] == 0) continue;
+                islandBlocks[i] = new IslandBlocks(island, IridiumSkyblock.getInstance().getValuableBlockList().get(i));
+                created.add(islandBlocks[i]);
+            }
+            if (islandBlocks[i].getAmount() != amounts[i]) {
+                islandBlocks[i].setAmount(amounts[i]);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Moves the amounts to the current indexes after the valuable blocks have been reloaded.
+     * Blocks which are no longer valuable are dropped.
+     * Does nothing if the table already uses the current indexes.
+     */
+    public void remap() {
+        List<XMaterial> previousValuableBlocks = valuableBlocks;
+        if (previousValuableBlocks == IridiumSkyblock.getInstance().getValuableBlockList()) return;
+        int[] previousAmounts = amounts;
+        IslandBlocks[] previousIslandBlocks = islandBlocks;
+
+        this.valuableBlocks = IridiumSkyblock.getInstance().getValuableBlockList();
+        int size = valuableBlocks.size();
+        this.amounts = new int[size];
+        this.islandBlocks = new IslandBlocks[size];
+
+        for (int i = 0; i < previousAmounts.length; i++) {
+            int index = IridiumSkyblock.getInstance().getValuableBlockIndex(previousValuableBlocks.get(i));
+            if (index < 0) continue;
+            amounts[index] = previousAmounts[i];
+            islandBlocks[index] = previousIslandBlocks[i];
+        }
+    }
+
+}
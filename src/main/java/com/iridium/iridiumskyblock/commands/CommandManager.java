@@ -69,6 +69,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         registerCommand(new MissionCommand());
         registerCommand(new BlockValueCommand());
         registerCommand(new BorderCommand());
+        registerCommand(new StatsCommand());
 
         commands.sort(Comparator.comparing(command -> command.aliases.get(0)));
     }
@@ -104,6 +105,13 @@ public class CommandManager implements CommandExecutor, TabCompleter {
      */
     @Override
     public boolean onCommand(@NotNull CommandSender commandSender, org.bukkit.command.@NotNull Command cmd, @NotNull String label, String[] args) {
+        // The data might not be available yet
+        if (!IridiumSkyblock.getInstance().isLoaded()) {
+            commandSender.sendMessage(StringUtils.color(IridiumSkyblock.getInstance().getMessages().pluginLoading
+                    .replace("%prefix%", IridiumSkyblock.getInstance().getConfiguration().prefix)));
+            return true;
+        }
+
         if (args.length == 0) {
             if (commandSender instanceof Player) {
                 Player player = (Player) commandSender;
@@ -0,0 +1,69 @@
+package com.iridium.iridiumskyblock.commands;
+
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.managers.IslandPoolManager;
+import com.iridium.iridiumskyblock.managers.RecalculationManager;
+import com.iridium.iridiumskyblock.managers.SchematicManager;
+import com.iridium.iridiumskyblock.utils.StringUtils;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Command which displays how the background work of the plugin keeps up.
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * The default constructor.
+     */
+    public StatsCommand() {
+        super(Collections.singletonList("stats"), "Display performance statistics", "iridiumskyblock.stats", false);
+    }
+
+    /**
+     * Executes the command for the specified {@link CommandSender} with the provided arguments.
+     * Not called when the command execution was invalid (no permission, no player or command disabled).
+     * Displays the statistics of the island recalculations, the island pool and the schematic cache.
+     *
+     * @param sender The CommandSender which executes this command
+     * @param args   The arguments used with this command. They contain the sub-command
+     */
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        RecalculationManager recalculationManager = IridiumSkyblock.getInstance().getRecalculationManager();
+        sender.sendMessage(StringUtils.color("&7Recalculations: &b" + recalculationManager.getQueueSize() + " queued, "
+                + recalculationManager.getRunningRecalculations() + " running, " + recalculationManager.getCompletedRecalculations() + " completed"));
+        sender.sendMessage(StringUtils.color("&7Recalculation Wait: &b" + recalculationManager.getAverageWaitMillis() + "ms average, "
+                + recalculationManager.getMaxWaitMillis() + "ms max"));
+        sender.sendMessage(StringUtils.color("&7Recalculation Duration: &b" + recalculationManager.getAverageDurationMillis() + "ms average"));
+
+        IslandPoolManager islandPoolManager = IridiumSkyblock.getInstance().getIslandPoolManager();
+        sender.sendMessage(StringUtils.color("&7Island Pool: &b" + islandPoolManager.getReadySlots() + " ready, "
+                + islandPoolManager.getClaimedSlots() + " claimed, " + islandPoolManager.getMissedSlots() + " missed"));
+        sender.sendMessage(StringUtils.color("&7Free Positions: &b" + IridiumSkyblock.getInstance().getIslandPositionManager().getFreePositions()));
+        sender.sendMessage(StringUtils.color("&7Queued Jobs: &b" + IridiumSkyblock.getInstance().getWorkManager().getQueuedJobs()));
+
+        SchematicManager schematicManager = IridiumSkyblock.getInstance().getSchematicManager();
+        sender.sendMessage(StringUtils.color("&7Schematic Cache: &b" + schematicManager.getCacheSize() + " cached, "
+                + schematicManager.getCacheHits() + " hits, " + schematicManager.getCacheMisses() + " misses"));
+    }
+
+    /**
+     * Handles tab-completion for this command.
+     *
+     * @param commandSender The CommandSender which tries to tab-complete
+     * @param command       The command
+     * @param label         The label of the command
+     * @param args          The arguments already provided by the sender
+     * @return The list of tab completions for this command
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender commandSender, org.bukkit.command.Command command, String label, String[] args) {
+        // We currently don't want to tab-completion here
+        // Return a new List so it isn't a list of online players
+        return Collections.emptyList();
+    }
+
+}
@@ -20,8 +20,27 @@ public class Configuration {
     public boolean defaultIslandPublic = true;
 
     public int distance = 151;
+    // Places every island in its own region files (512x512 blocks), the distance is rounded up to a multiple of 512.
+    // Deleted islands are reset by deleting their region files instead of their blocks, except on Paper where they are still cleared block by block.
+    // Only enable this for new worlds, existing islands would be moved
+    public boolean regionAlignedIslands = false;
+    // Unused since pasting is limited by the workTickBudget, kept so older configuration files can still be loaded
     public int schematicPastingDelay = 1;
+    // How often in seconds the islands which need a recalculation are queued
     public int islandRecalculateInterval = 10;
+    // How often in seconds every chunk of an island is scanned again, corrects changes which haven't been noticed e.g. by other plugins
+    public int islandFullRescanInterval = 86400;
+    // The maximum amount of islands which are recalculated at the same time
+    public int maxConcurrentRecalculations = 2;
+    // The maximum amount of milliseconds per tick which are used for pasting, clearing and recalculating islands
+    public int workTickBudget = 10;
+    // The amount of islands which are pasted in advance for every schematic, so new islands are ready immediately
+    public int islandPoolSize = 2;
+    // How often in ticks an island is pasted in advance while no other island is being pasted or cleared
+    public int islandPoolRefillInterval = 100;
+
+    // Compares the cached value of an Island with a full recalculation before it is recalculated
+    public boolean verifyIslandValues = false;
 
     public Map<Integer, Integer> islandTopSlots = ImmutableMap.<Integer, Integer>builder()
             .put(1, 4)
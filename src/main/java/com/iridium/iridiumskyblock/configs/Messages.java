@@ -13,6 +13,7 @@ public class Messages {
     public String noPermission = "%prefix% &7You don't have permission for that.";
     public String mustBeAPlayer = "%prefix% &7You must be a player to execute this command.";
     public String unknownCommand = "%prefix% &7Unknown Command, Try /is help.";
+    public String pluginLoading = "%prefix% &7IridiumSkyblock is still loading, please try again in a moment.";
     public String helpCommandHeader = "&8===== &b&lIridiumSkyblock Help &r&8=====";
     public String helpCommandMessage = "<GRADIENT:09C6F9>/is %command%</GRADIENT:045DE9>&r: &7%description%";
     public String helpCommandFooter = " &7Page %page% of %max_page% ";
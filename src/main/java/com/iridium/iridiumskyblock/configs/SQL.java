@@ -15,6 +15,37 @@ public class SQL {
     public String password = "";
     public int port = 3306;
     public boolean useSSL = false;
+    // The maximum amount of rows which are sent to the database at once when saving
+    public int batchSize = 500;
+    // The maximum amount of pending database writes of asynchronous tasks, they have to wait for the database if it is exceeded.
+    // Writes of the main thread are never delayed
+    public int writeQueueSize = 1000;
+    // Only loads Users and the data of Islands when they are needed instead of loading everything on startup
+    public boolean lazyLoading = false;
+    // With lazy loading, the least recently used offline users and data of islands without online members are removed from the memory above these amounts
+    public int maxCachedUsers = 1000;
+    public int maxCachedIslands = 500;
+    // Only used for database servers, SQLite and H2 always use a single connection
+    public Pool pool = new Pool();
+
+    /**
+     * The settings of the connection pool.
+     */
+    public static class Pool {
+
+        // The maximum amount of connections which are used at the same time.
+        // One of them belongs to the database writer, the others load data with lazy loading and on startup
+        public int maxConnections = 4;
+        // The maximum amount of idle connections which are kept open
+        public int maxIdleConnections = 4;
+        // Connections are closed and replaced after this time
+        public long maxConnectionAgeMillis = 30 * 60 * 1000L;
+        // How often idle connections are tested and closed if they are broken or too old, 0 to disable
+        public long checkConnectionsEveryMillis = 60 * 1000L;
+        // Runs a validation query (the ping statement of the database) before a connection is used, broken connections are replaced
+        public boolean testBeforeGet = true;
+
+    }
 
     /**
      * Represents a Driver of a database.
@@ -0,0 +1,149 @@
+package com.iridium.iridiumskyblock.database;
+
+import com.iridium.iridiumskyblock.configs.SQL;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.table.TableInfo;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes many rows of a table with a single native upsert statement which is executed in batches.
+ * ORMLite's createOrUpdate needs a query and an insert or update per row, this only needs one round trip per batch.
+ *
+ * @param <T> The type of the rows
+ */
+public class BatchUpsert<T> {
+
+    private final Dao<T, ?> dao;
+    private final FieldType[] fieldTypes;
+    private final FieldType idField;
+    private final @Nullable String sql;
+
+    /**
+     * The default constructor.
+     *
+     * @param dao          The DAO of the table
+     * @param driver       The database driver, decides which upsert syntax is used
+     * @param databaseType The database type used for escaping names
+     */
+    public BatchUpsert(@NotNull Dao<T, ?> dao, @NotNull SQL.Driver driver, @NotNull DatabaseType databaseType) {
+        TableInfo<T, ?> tableInfo = dao.getTableInfo();
+        this.dao = dao;
+        this.fieldTypes = tableInfo.getFieldTypes();
+        this.idField = tableInfo.getIdField();
+        this.sql = createSql(driver, databaseType, tableInfo.getTableName());
+    }
+
+    /**
+     * Returns whether or not the database supports a native upsert.
+     * Rows have to be written one by one if it doesn't.
+     *
+     * @return If {@link BatchUpsert#execute(Connection, List, int)} can be used
+     */
+    public boolean isSupported() {
+        return sql != null;
+    }
+
+    /**
+     * Returns whether or not a row can be written with an upsert.
+     * Rows with a generated id which has not been assigned yet have to be created by ORMLite, so they get their id.
+     *
+     * @param row The row
+     * @return If the row can be upserted
+     * @throws SQLException If the id could not be read
+     */
+    public boolean canUpsert(@NotNull T row) throws SQLException {
+        return !idField.isGeneratedId() || !idField.isObjectsFieldValueDefault(row);
+    }
+
+    /**
+     * Writes the rows in batches of the specified size.
+     * Does not commit, the caller decides where the transaction ends.
+     *
+     * @param connection The connection which should be used
+     * @param rows       The rows which should be written
+     * @param batchSize  The maximum amount of rows per batch
+     * @throws SQLException If any of the batches failed
+     */
+    public void execute(@NotNull Connection connection, @NotNull List<T> rows, int batchSize) throws SQLException {
+        if (sql == null) throw new UnsupportedOperationException("Upserts are not supported by this database");
+        if (rows.isEmpty()) return;
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (T row : rows) {
+                for (int i = 0; i < fieldTypes.length; i++) {
+                    statement.setObject(i + 1, fieldTypes[i].extractJavaFieldToSqlArgValue(row));
+                }
+                statement.addBatch();
+                if (++batched >= batchSize) {
+                    statement.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Returns the DAO of the table.
+     *
+     * @return The DAO
+     */
+    public @NotNull Dao<T, ?> getDao() {
+        return dao;
+    }
+
+    /**
+     * Builds the upsert statement for the specified driver.
+     *
+     * @param driver       The database driver
+     * @param databaseType The database type used for escaping names
+     * @param tableName    The name of the table
+     * @return The statement, null if the database has no native upsert
+     */
+    private @Nullable String createSql(@NotNull SQL.Driver driver, @NotNull DatabaseType databaseType, @NotNull String tableName) {
+        List<String> columns = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        for (FieldType fieldType : fieldTypes) {
+            columns.add(escape(databaseType, fieldType.getColumnName()));
+            placeholders.add("?");
+        }
+        String id = escape(databaseType, idField.getColumnName());
+        String insert = escape(databaseType, tableName) + " (" + String.join(", ", columns) + ") ";
+        String values = "VALUES (" + String.join(", ", placeholders) + ")";
+
+        List<String> updates = new ArrayList<>();
+        switch (driver) {
+            case MYSQL:
+            case MARIADB:
+                columns.stream().filter(column -> !column.equals(id)).forEach(column -> updates.add(column + " = VALUES(" + column + ")"));
+                return "INSERT INTO " + insert + values + " ON DUPLICATE KEY UPDATE " + String.join(", ", updates);
+            case POSTGRESQL:
+            case SQLITE:
+                columns.stream().filter(column -> !column.equals(id)).forEach(column -> updates.add(column + " = excluded." + column));
+                return "INSERT INTO " + insert + values + " ON CONFLICT (" + id + ") DO UPDATE SET " + String.join(", ", updates);
+            case H2:
+                return "MERGE INTO " + insert + "KEY (" + id + ") " + values;
+            default:
+                return null;
+        }
+    }
+
+    private String escape(DatabaseType databaseType, String name) {
+        StringBuilder stringBuilder = new StringBuilder();
+        databaseType.appendEscapedEntityName(stringBuilder, name);
+        return stringBuilder.toString();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.iridium.iridiumskyblock.database;
+
+/**
+ * Represents an object which is stored in the database.
+ * Keeps track of whether or not it has been changed since it has been saved the last time,
+ * so only changed rows have to be written.
+ */
+public abstract class DatabaseObject {
+
+    private volatile boolean changed = true;
+
+    /**
+     * Returns whether or not this object has been changed since it has been saved the last time.
+     * New objects are always changed.
+     *
+     * @return If this object has to be saved
+     */
+    public boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Marks this object as changed or saved.
+     *
+     * @param changed If this object has to be saved
+     */
+    public void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+
+}
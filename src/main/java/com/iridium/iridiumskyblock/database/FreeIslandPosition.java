@@ -0,0 +1,40 @@
+package com.iridium.iridiumskyblock.database;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents a position on the island grid which has been used by a deleted Island and can be used again.
+ * Used by the {@link com.iridium.iridiumskyblock.managers.IslandPositionManager}.
+ */
+@Getter
+@NoArgsConstructor
+@DatabaseTable(tableName = "free_island_positions")
+public final class FreeIslandPosition {
+
+    @DatabaseField(columnName = "position", canBeNull = false, id = true)
+    private int position;
+
+    /*
+    Whether or not the blocks at this position have been removed.
+    Positions are only used again after they have been cleared.
+    */
+    @Setter
+    @DatabaseField(columnName = "cleared", canBeNull = false)
+    private boolean cleared;
+
+    /**
+     * The default constructor.
+     *
+     * @param position The position on the island grid
+     * @param cleared  Whether or not the blocks at this position have been removed
+     */
+    public FreeIslandPosition(int position, boolean cleared) {
+        this.position = position;
+        this.cleared = cleared;
+    }
+
+}
@@ -1,12 +1,14 @@
 package com.iridium.iridiumskyblock.database;
 
 import com.cryptomorin.xseries.XMaterial;
+import com.iridium.iridiumskyblock.ChunkValueTable;
 import com.iridium.iridiumskyblock.Color;
 import com.iridium.iridiumskyblock.IridiumSkyblock;
-import com.iridium.iridiumskyblock.IslandRank;
+import com.iridium.iridiumskyblock.PermissionTable;
+import com.iridium.iridiumskyblock.ValuableBlockTable;
 import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
 import com.iridium.iridiumskyblock.configs.Schematics;
-import com.iridium.iridiumskyblock.managers.IslandManager;
+import com.iridium.iridiumskyblock.utils.GridUtils;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import lombok.AccessLevel;
@@ -22,7 +24,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -32,7 +33,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @DatabaseTable(tableName = "islands")
-public final class Island {
+public final class Island extends DatabaseObject {
 
     @DatabaseField(columnName = "id", generatedId = true, canBeNull = false)
     @Setter(AccessLevel.PRIVATE)
@@ -41,6 +42,13 @@ public final class Island {
     @DatabaseField(columnName = "name", canBeNull = false, unique = true)
     private @NotNull String name;
 
+    /*
+    The position of this Island on the island grid, starting at 1.
+    Islands created before positions were stored use their id as their position.
+    */
+    @DatabaseField(columnName = "position", canBeNull = false)
+    private int position;
+
     /*
     The islands home relative to the island center as a string.
     Format: x,y,z,pitch,yaw
@@ -54,15 +62,36 @@ public final class Island {
     @DatabaseField(columnName = "create_time")
     private long time;
 
+    /*
+    The Island's total value, based on the valuable blocks.
+    Updated whenever the amount of a valuable block changes.
+    TODO: Actually account for spawners
+    */
     @DatabaseField(columnName = "value")
     private double value;
 
     @DatabaseField(columnName = "experience")
     private int experience;
 
+    /*
+    The time in milliseconds of the last recalculation which scanned every chunk of this Island, 0 if there was none.
+    The stored value is used after a restart until the Island changes or a full scan is due again.
+    */
+    @DatabaseField(columnName = "last_full_scan", canBeNull = false)
+    private long lastFullScan;
+
     @DatabaseField(columnName = "color", canBeNull = false)
     private @NotNull Color color;
 
+    @Setter(AccessLevel.NONE)
+    private final PermissionTable permissionTable = new PermissionTable();
+
+    @Setter(AccessLevel.NONE)
+    private final ValuableBlockTable valuableBlockTable = new ValuableBlockTable();
+
+    @Setter(AccessLevel.NONE)
+    private final ChunkValueTable chunkValueTable = new ChunkValueTable();
+
     /**
      * The default constructor.
      *
@@ -76,6 +105,88 @@ public final class Island {
         this.color = Color.BLUE;
     }
 
+    /**
+     * Alters the name of this island.
+     *
+     * @param name The new name
+     */
+    public void setName(@NotNull String name) {
+        this.name = name;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the position of this island on the island grid.
+     * Has to be set before the island is registered, its blocks are not moved.
+     *
+     * @param position The new position
+     */
+    public void setPosition(int position) {
+        this.position = position;
+        setChanged(true);
+    }
+
+    /**
+     * Alters whether or not this island can be visited by other players.
+     *
+     * @param visitable If this island is visitable
+     */
+    public void setVisitable(boolean visitable) {
+        this.visitable = visitable;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the internal creation time of this island.
+     *
+     * @param time The creation time in milliseconds
+     */
+    public void setTime(long time) {
+        this.time = time;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the value of this island.
+     * Use {@link com.iridium.iridiumskyblock.managers.IslandManager#setIslandValue(Island, double)} to update its rank too.
+     *
+     * @param value The new value
+     */
+    public void setValue(double value) {
+        this.value = value;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the experience of this island.
+     *
+     * @param experience The new experience
+     */
+    public void setExperience(int experience) {
+        this.experience = experience;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the time of the last recalculation which scanned every chunk of this island.
+     *
+     * @param lastFullScan The time in milliseconds, 0 if the island has to be scanned completely again
+     */
+    public void setLastFullScan(long lastFullScan) {
+        this.lastFullScan = lastFullScan;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the color of this island's border.
+     *
+     * @param color The new color
+     */
+    public void setColor(@NotNull Color color) {
+        this.color = color;
+        setChanged(true);
+    }
+
     /**
      * Gets the island's level.
      * TODO: Change the equation
@@ -101,7 +212,7 @@ public final class Island {
      * @return The owner of the Island
      */
     public User getOwner() {
-        return IridiumSkyblock.getInstance().getDatabaseManager().getUserList().stream().filter(user -> user.getIslandRank().equals(IslandRank.OWNER) && this.equals(user.getIsland().orElse(null))).findFirst().orElse(new User(UUID.randomUUID(), IridiumSkyblock.getInstance().getMessages().none));
+        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandOwner(id).orElseGet(() -> new User(UUID.randomUUID(), IridiumSkyblock.getInstance().getMessages().none));
     }
 
     /**
@@ -123,6 +234,7 @@ public final class Island {
     public void setHome(@NotNull Location location) {
         Location homeLocation = location.subtract(getCenter(location.getWorld()));
         this.home = homeLocation.getX() + "," + homeLocation.getY() + "," + homeLocation.getZ() + "," + homeLocation.getPitch() + "," + homeLocation.getYaw();
+        setChanged(true);
     }
 
     /**
@@ -134,22 +246,6 @@ public final class Island {
         return LocalDateTime.ofInstant(Instant.ofEpochMilli(getTime()), ZoneId.systemDefault());
     }
 
-    /**
-     * Returns the Island's total value, based on the valuable blocks and spawners.
-     * TODO: Actually account for spawners
-     *
-     * @return The Island value
-     */
-    public double getValue() {
-        double value = 0;
-
-        for (XMaterial material : IridiumSkyblock.getInstance().getBlockValues().blockValues.keySet()) {
-            value += getValueOf(material);
-        }
-
-        return value;
-    }
-
     /**
      * Returns the value of the provided material on this Island.
      *
@@ -157,8 +253,9 @@ public final class Island {
      * @return The value of this block on the island, 0 if it isn't valuable
      */
     public double getValueOf(XMaterial material) {
-        Optional<IslandBlocks> islandBlocks = IridiumSkyblock.getInstance().getIslandManager().getIslandBlock(this, material);
-        return islandBlocks.map(blocks -> blocks.getAmount() * IridiumSkyblock.getInstance().getBlockValues().blockValues.get(material).value).orElse(0.0);
+        int index = IridiumSkyblock.getInstance().getValuableBlockIndex(material);
+        if (index < 0) return 0;
+        return valuableBlockTable.getAmount(index) * IridiumSkyblock.getInstance().getValuableBlockValue(index);
     }
 
     /**
@@ -171,49 +268,31 @@ public final class Island {
 
     /**
      * Finds the center of this Island.
-     * Function based of: https://stackoverflow.com/a/19287714.
      *
      * @param world The world where this island is in
      * @return The center Location of this island
+     * @see GridUtils
      */
     public Location getCenter(World world) {
-        if (id == 1) return new Location(world, 0, 0, 0);
-        // In this algorithm id  0 will be where we want id 2 to be and 1 will be where 3 is ect
-        int n = id - 2;
-
-        int r = (int) (Math.floor((Math.sqrt(n + 1) - 1) / 2) + 1);
-        // compute radius : inverse arithmetic sum of 8+16+24+...=
-
-        int p = (8 * r * (r - 1)) / 2;
-        // compute total point on radius -1 : arithmetic sum of 8+16+24+...
-
-        int en = r * 2;
-        // points by face
-
-        int a = (1 + n - p) % (r * 8);
-        // compute de position and shift it so the first is (-r,-r) but (-r+1,-r)
-        // so square can connect
-
-        Location location;
-
-        switch (a / (r * 2)) {
-            case 0:
-                location = new Location(world, (a - r), 0, -r);
-                break;
-            case 1:
-                location = new Location(world, r, 0, (a % en) - r);
-                break;
-            case 2:
-                location = new Location(world, r - (a % en), 0, r);
-                break;
-            case 3:
-                location = new Location(world, -r, 0, r - (a % en));
-                break;
-            default:
-                throw new IllegalStateException("Could not find island location with ID: " + id);
-        }
-
-        return location.multiply(IridiumSkyblock.getInstance().getConfiguration().distance).add(0.5, 0, 0.5);
+        return new Location(world, getCenterX(), 0, getCenterZ());
+    }
+
+    /**
+     * Returns the x coordinate of the center of this Island.
+     *
+     * @return The x coordinate of the center
+     */
+    public double getCenterX() {
+        return IridiumSkyblock.getInstance().getIslandManager().getCenterX(position);
+    }
+
+    /**
+     * Returns the z coordinate of the center of this Island.
+     *
+     * @return The z coordinate of the center
+     */
+    public double getCenterZ() {
+        return IridiumSkyblock.getInstance().getIslandManager().getCenterZ(position);
     }
 
     /**
@@ -246,7 +325,7 @@ public final class Island {
      * @return The islands rank
      */
     public int getRank() {
-        return IridiumSkyblock.getInstance().getIslandManager().getIslands(IslandManager.SortType.VALUE).indexOf(this) + 1;
+        return IridiumSkyblock.getInstance().getIslandManager().getIslandRank(this);
     }
 
     /**
@@ -267,10 +346,11 @@ public final class Island {
      * @return Whether or not the coordinates are in this island
      */
     public boolean isInIsland(int x, int z) {
-        Location pos1 = getPos1(null);
-        Location pos2 = getPos2(null);
+        double size = getSize() / 2.00;
+        double centerX = getCenterX();
+        double centerZ = getCenterZ();
 
-        return pos1.getX() <= x && pos1.getZ() <= z && pos2.getX() >= x && pos2.getZ() >= z;
+        return centerX - size <= x && centerZ - size <= z && centerX + size >= x && centerZ + size >= z;
     }
 
 }
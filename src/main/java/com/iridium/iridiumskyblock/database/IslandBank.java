@@ -4,7 +4,6 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -13,7 +12,7 @@ import org.jetbrains.annotations.NotNull;
 @Getter
 @NoArgsConstructor
 @DatabaseTable(tableName = "island_bank")
-public class IslandBank {
+public class IslandBank extends DatabaseObject {
 
     @DatabaseField(columnName = "id", generatedId = true, canBeNull = false)
     private int id;
@@ -25,7 +24,6 @@ public class IslandBank {
     private String bankItem;
 
     @DatabaseField(columnName = "number")
-    @Setter
     private double number;
 
     /**
@@ -41,4 +39,14 @@ public class IslandBank {
         this.number = number;
     }
 
+    /**
+     * Alters the amount of this currency in the Island bank.
+     *
+     * @param number The new amount
+     */
+    public void setNumber(double number) {
+        this.number = number;
+        setChanged(true);
+    }
+
 }
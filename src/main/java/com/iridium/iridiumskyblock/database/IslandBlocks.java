@@ -6,7 +6,6 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
@@ -19,7 +18,7 @@ import java.util.Optional;
 @Getter
 @NoArgsConstructor
 @DatabaseTable(tableName = "island_blocks")
-public final class IslandBlocks {
+public final class IslandBlocks extends DatabaseObject {
 
     @DatabaseField(columnName = "id", generatedId = true, canBeNull = false)
     private int id;
@@ -31,7 +30,6 @@ public final class IslandBlocks {
     private @NotNull XMaterial material;
 
     @DatabaseField(columnName = "amount", canBeNull = false)
-    @Setter
     private int amount;
 
     /**
@@ -45,6 +43,16 @@ public final class IslandBlocks {
         this.material = material;
     }
 
+    /**
+     * Alters the amount of this block on the Island.
+     *
+     * @param amount The new amount
+     */
+    public void setAmount(int amount) {
+        this.amount = amount;
+        setChanged(true);
+    }
+
     /**
      * Returns the Island this block belongs to.
      *
@@ -54,4 +62,13 @@ public final class IslandBlocks {
         return IridiumSkyblock.getInstance().getIslandManager().getIslandById(island);
     }
 
+    /**
+     * Returns the id of the Island this block belongs to.
+     *
+     * @return The id of the Island of this block
+     */
+    public int getIslandId() {
+        return island;
+    }
+
 }
@@ -22,7 +22,7 @@ import java.util.UUID;
 @Getter
 @NoArgsConstructor
 @DatabaseTable(tableName = "island_invites")
-public final class IslandInvite {
+public final class IslandInvite extends DatabaseObject {
 
     @DatabaseField(columnName = "id", generatedId = true, canBeNull = false)
     private int id;
@@ -71,6 +71,15 @@ public final class IslandInvite {
         return IridiumSkyblockAPI.getInstance().getUser(Bukkit.getOfflinePlayer(user));
     }
 
+    /**
+     * Returns the {@link UUID} of the invitee.
+     *
+     * @return The UUID of the invited User
+     */
+    public @NotNull UUID getUserUuid() {
+        return user;
+    }
+
     /**
      * Returns the inviter.
      *
@@ -5,7 +5,6 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -14,7 +13,7 @@ import org.jetbrains.annotations.NotNull;
 @Getter
 @NoArgsConstructor
 @DatabaseTable(tableName = "island_mission")
-public class IslandMission {
+public class IslandMission extends DatabaseObject {
 
     @DatabaseField(columnName = "id", generatedId = true, canBeNull = false)
     private int id;
@@ -29,11 +28,9 @@ public class IslandMission {
     private int missionIndex;
 
     @DatabaseField(columnName = "progress")
-    @Setter
     private int progress;
 
     @DatabaseField(columnName = "type")
-    @Setter
     private Mission.MissionType type;
 
     /**
@@ -51,4 +48,24 @@ public class IslandMission {
         this.missionIndex = missionIndex;
     }
 
+    /**
+     * Alters the progress of this mission.
+     *
+     * @param progress The new progress
+     */
+    public void setProgress(int progress) {
+        this.progress = progress;
+        setChanged(true);
+    }
+
+    /**
+     * Alters the type of this mission.
+     *
+     * @param type The new type
+     */
+    public void setType(Mission.MissionType type) {
+        this.type = type;
+        setChanged(true);
+    }
+
 }
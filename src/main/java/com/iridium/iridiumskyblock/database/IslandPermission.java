@@ -6,7 +6,6 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
@@ -14,7 +13,7 @@ import java.util.Optional;
 @Getter
 @NoArgsConstructor
 @DatabaseTable(tableName = "island_permissions")
-public final class IslandPermission {
+public final class IslandPermission extends DatabaseObject {
 
     @DatabaseField(columnName = "id", generatedId = true, canBeNull = false)
     private int id;
@@ -29,7 +28,6 @@ public final class IslandPermission {
     private @NotNull IslandRank rank;
 
     @DatabaseField(columnName = "allowed", canBeNull = false)
-    @Setter
     private boolean allowed;
 
     /**
@@ -47,6 +45,16 @@ public final class IslandPermission {
         this.allowed = allowed;
     }
 
+    /**
+     * Alters whether or not this permission has been granted.
+     *
+     * @param allowed If the permission is allowed
+     */
+    public void setAllowed(boolean allowed) {
+        this.allowed = allowed;
+        setChanged(true);
+    }
+
     /**
      * Returns the Island this permission belongs to.
      *
@@ -56,4 +64,13 @@ public final class IslandPermission {
         return IridiumSkyblock.getInstance().getIslandManager().getIslandById(island);
     }
 
+    /**
+     * Returns the id of the Island this permission belongs to.
+     *
+     * @return The id of the Island of this permission
+     */
+    public int getIslandId() {
+        return island;
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.iridium.iridiumskyblock.database;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a position on the island grid which has no Island yet, but where a schematic is pasted in advance.
+ * Used by the {@link com.iridium.iridiumskyblock.managers.IslandPoolManager}.
+ */
+@Getter
+@NoArgsConstructor
+@DatabaseTable(tableName = "island_slots")
+public final class IslandSlot {
+
+    @DatabaseField(columnName = "position", canBeNull = false, id = true)
+    private int position;
+
+    @DatabaseField(columnName = "schematic", canBeNull = false)
+    private @NotNull String schematic;
+
+    /*
+    Whether or not the schematic has been pasted completely.
+    Slots are saved before the schematic is pasted, so partially pasted slots can be cleared after a restart.
+    */
+    @Setter
+    @DatabaseField(columnName = "ready", canBeNull = false)
+    private boolean ready;
+
+    /**
+     * The default constructor.
+     *
+     * @param position  The position on the island grid
+     * @param schematic The ID of the schematic which is pasted at this position
+     */
+    public IslandSlot(int position, @NotNull String schematic) {
+        this.position = position;
+        this.schematic = schematic;
+    }
+
+}
@@ -3,12 +3,15 @@ package com.iridium.iridiumskyblock.database;
 import com.iridium.iridiumskyblock.IridiumSkyblock;
 import com.iridium.iridiumskyblock.Persist;
 import com.iridium.iridiumskyblock.Schematic;
+import com.iridium.iridiumskyblock.utils.SchematicSerializer;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Base64;
 
 /**
@@ -49,22 +52,39 @@ public final class SchematicData {
 
     /**
      * Constructs the Schematic object to this data.
-     * Decodes the base64 schematic data.
+     * Decodes the base64 schematic data, which is either in the binary format or in the old JSON format.
      *
      * @return The newly loaded schematic object
      */
     public Schematic getSchematic() {
-        return new Persist(Persist.PersistType.JSON, IridiumSkyblock.getInstance()).load(Schematic.class, new String(Base64.getDecoder().decode(schematic)));
+        byte[] bytes = Base64.getDecoder().decode(schematic);
+        if (!SchematicSerializer.isBinary(bytes)) {
+            return new Persist(Persist.PersistType.JSON, IridiumSkyblock.getInstance()).load(Schematic.class, new String(bytes));
+        }
+        try {
+            return SchematicSerializer.deserialize(bytes);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 
     /**
      * Copy the provided schematic and save its data.
-     * Converts it into base64.
+     * Converts it into the binary format and encodes it with base64.
      *
      * @param schematic The schematic that should be saved
      */
     public void setSchematic(Schematic schematic) {
-        this.schematic = new String(Base64.getEncoder().encode(new Persist(Persist.PersistType.JSON, IridiumSkyblock.getInstance()).toString(schematic).getBytes()));
+        this.schematic = Base64.getEncoder().encodeToString(SchematicSerializer.serialize(schematic, true));
+    }
+
+    /**
+     * Returns whether or not this schematic is still stored in the old JSON format.
+     *
+     * @return If the schematic should be converted
+     */
+    public boolean isLegacyFormat() {
+        return !SchematicSerializer.isBinary(Base64.getDecoder().decode(schematic));
     }
 
 }
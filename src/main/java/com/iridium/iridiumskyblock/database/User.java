@@ -25,7 +25,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @DatabaseTable(tableName = "users")
-public final class User {
+public final class User extends DatabaseObject {
 
     @DatabaseField(columnName = "uuid", canBeNull = false, id = true)
     private @NotNull UUID uuid;
@@ -60,6 +60,17 @@ public final class User {
         this.islandRank = IslandRank.VISITOR;
     }
 
+    /**
+     * Alters the name of this user.
+     *
+     * @param name The new name of the Player
+     */
+    public void setName(@NotNull String name) {
+        if (name.equals(this.name)) return;
+        this.name = name;
+        setChanged(true);
+    }
+
     /**
      * Returns the Island of this user.
      *
@@ -77,8 +88,31 @@ public final class User {
      * @param island The new Island of this user, can be null
      */
     public void setIsland(@Nullable Island island) {
+        IridiumSkyblock.getInstance().getDatabaseManager().removeFromIslandMemberIndex(this);
         this.island = island == null ? null : island.getId();
         setJoinTime(LocalDateTime.now());
+        IridiumSkyblock.getInstance().getDatabaseManager().addToIslandMemberIndex(this);
+    }
+
+    /**
+     * Returns the id of the Island of this user.
+     *
+     * @return The id of the user's Island, null if he has none
+     */
+    public @Nullable Integer getIslandId() {
+        return island;
+    }
+
+    /**
+     * Alters the rank of this user in his Island.
+     *
+     * @param islandRank The new IslandRank of this user
+     */
+    public void setIslandRank(@NotNull IslandRank islandRank) {
+        IridiumSkyblock.getInstance().getDatabaseManager().removeFromIslandMemberIndex(this);
+        this.islandRank = islandRank;
+        setChanged(true);
+        IridiumSkyblock.getInstance().getDatabaseManager().addToIslandMemberIndex(this);
     }
 
     /**
@@ -97,6 +131,7 @@ public final class User {
      */
     public void setJoinTime(LocalDateTime joinTime) {
         this.joinTime = ZonedDateTime.of(joinTime, ZoneId.systemDefault()).toInstant().toEpochMilli();
+        setChanged(true);
     }
 
 }
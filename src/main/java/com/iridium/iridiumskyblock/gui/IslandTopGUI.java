@@ -3,7 +3,6 @@ package com.iridium.iridiumskyblock.gui;
 import com.iridium.iridiumskyblock.IridiumSkyblock;
 import com.iridium.iridiumskyblock.PlaceholderBuilder;
 import com.iridium.iridiumskyblock.database.Island;
-import com.iridium.iridiumskyblock.managers.IslandManager;
 import com.iridium.iridiumskyblock.utils.InventoryUtils;
 import com.iridium.iridiumskyblock.utils.ItemStackUtils;
 import com.iridium.iridiumskyblock.utils.StringUtils;
@@ -29,7 +28,8 @@ public class IslandTopGUI implements GUI {
      * The default constructor.
      */
     public IslandTopGUI() {
-        List<Island> islands = IridiumSkyblock.getInstance().getIslandManager().getIslands(IslandManager.SortType.VALUE);
+        int lowestRank = IridiumSkyblock.getInstance().getConfiguration().islandTopSlots.keySet().stream().max(Integer::compareTo).orElse(0);
+        List<Island> islands = IridiumSkyblock.getInstance().getIslandManager().getTopIslands(lowestRank);
 
         for (int rank : IridiumSkyblock.getInstance().getConfiguration().islandTopSlots.keySet()) {
             if (islands.size() < rank) continue;
@@ -33,12 +33,8 @@ public class BlockBreakListener implements Listener {
         } else if (material.equals(XMaterial.SPAWNER) && !IridiumSkyblock.getInstance().getIslandManager().getIslandPermission(island.get(), user, IridiumSkyblock.getInstance().getPermissions().spawners)) {
             event.setCancelled(true);
             player.sendMessage(StringUtils.color(IridiumSkyblock.getInstance().getMessages().cannotMineSpawners.replace("%prefix%", IridiumSkyblock.getInstance().getConfiguration().prefix)));
-        } else if (IridiumSkyblock.getInstance().getBlockValues().blockValues.containsKey(material)) {
-            IridiumSkyblock.getInstance().getIslandManager().getIslandBlock(island.get(), material).ifPresent(islandBlocks -> {
-                if (islandBlocks.getAmount() <= 0) return;
-                islandBlocks.setAmount(islandBlocks.getAmount() - 1);
-                island.get().setValue(island.get().getValue() - IridiumSkyblock.getInstance().getBlockValues().blockValues.get(material).value);
-            });
+        } else if (IridiumSkyblock.getInstance().getIslandManager().getIslandBlockAmount(island.get(), material) > 0) {
+            IridiumSkyblock.getInstance().getIslandManager().addIslandBlockAmount(island.get(), material, -1);
         }
     }
 
@@ -0,0 +1,110 @@
+package com.iridium.iridiumskyblock.listeners;
+
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+
+/**
+ * Marks the chunks of Islands whose blocks have changed, so they are scanned again by the next recalculation.
+ *
+ * @see com.iridium.iridiumskyblock.ChunkValueTable
+ */
+public class BlockChangeListener implements Listener {
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockPlace(BlockPlaceEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockBreak(BlockBreakEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockExplode(BlockExplodeEvent event) {
+        markDirty(event.getBlock());
+        event.blockList().forEach(this::markDirty);
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorEntityExplode(EntityExplodeEvent event) {
+        event.blockList().forEach(this::markDirty);
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorPistonExtend(BlockPistonExtendEvent event) {
+        event.getBlocks().forEach(block -> {
+            markDirty(block);
+            markDirty(block.getRelative(event.getDirection()));
+        });
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorPistonRetract(BlockPistonRetractEvent event) {
+        event.getBlocks().forEach(block -> {
+            markDirty(block);
+            markDirty(block.getRelative(event.getDirection()));
+        });
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockFromTo(BlockFromToEvent event) {
+        markDirty(event.getToBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockGrow(BlockGrowEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockForm(BlockFormEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockSpread(BlockSpreadEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockFade(BlockFadeEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorBlockBurn(BlockBurnEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorLeavesDecay(LeavesDecayEvent event) {
+        markDirty(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void monitorStructureGrow(StructureGrowEvent event) {
+        event.getBlocks().stream().map(BlockState::getBlock).forEach(this::markDirty);
+    }
+
+    /**
+     * Marks the chunk of a block as changed if it belongs to an Island.
+     *
+     * @param block The changed block
+     */
+    private void markDirty(Block block) {
+        if (!block.getWorld().equals(IridiumSkyblockAPI.getInstance().getWorld())) return;
+        IridiumSkyblock.getInstance().getIslandManager().getIslandViaLocation(block.getX(), block.getZ()).ifPresent(island ->
+                island.getChunkValueTable().markDirty(block.getX() >> 4, block.getZ() >> 4)
+        );
+    }
+
+}
@@ -4,7 +4,6 @@ import com.cryptomorin.xseries.XMaterial;
 import com.iridium.iridiumskyblock.IridiumSkyblock;
 import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
 import com.iridium.iridiumskyblock.database.Island;
-import com.iridium.iridiumskyblock.database.IslandBlocks;
 import com.iridium.iridiumskyblock.database.User;
 import com.iridium.iridiumskyblock.utils.StringUtils;
 import org.bukkit.entity.Player;
@@ -29,15 +28,7 @@ public class BlockPlaceListener implements Listener {
             event.setCancelled(true);
             player.sendMessage(StringUtils.color(IridiumSkyblock.getInstance().getMessages().cannotPlaceBlocks.replace("%prefix%", IridiumSkyblock.getInstance().getConfiguration().prefix)));
         } else if (IridiumSkyblock.getInstance().getBlockValues().blockValues.containsKey(material)) {
-            Optional<IslandBlocks> optionalIslandBlock = IridiumSkyblock.getInstance().getIslandManager().getIslandBlock(island.get(), material);
-            if (optionalIslandBlock.isPresent()) {
-                optionalIslandBlock.get().setAmount(optionalIslandBlock.get().getAmount() + 1);
-            } else {
-                IslandBlocks islandBlocks = new IslandBlocks(island.get(), material);
-                islandBlocks.setAmount(1);
-                IridiumSkyblock.getInstance().getDatabaseManager().getIslandBlocksList().add(islandBlocks);
-            }
-            island.get().setValue(island.get().getValue() + IridiumSkyblock.getInstance().getBlockValues().blockValues.get(material).value);
+            IridiumSkyblock.getInstance().getIslandManager().addIslandBlockAmount(island.get(), material, 1);
         }
     }
 
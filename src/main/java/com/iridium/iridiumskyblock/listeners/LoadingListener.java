@@ -0,0 +1,47 @@
+package com.iridium.iridiumskyblock.listeners;
+
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
+import com.iridium.iridiumskyblock.utils.StringUtils;
+import org.bukkit.World;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * Only registered while the data is loaded on startup.
+ * Players can't join and nobody can change the island world until the data is available.
+ */
+public class LoadingListener implements Listener {
+
+    @EventHandler
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, StringUtils.color(IridiumSkyblock.getInstance().getMessages().pluginLoading.replace("%prefix%", IridiumSkyblock.getInstance().getConfiguration().prefix)));
+    }
+
+    @EventHandler
+    public void onBlockBreak(BlockBreakEvent event) {
+        cancelInIslandWorld(event, event.getBlock().getWorld());
+    }
+
+    @EventHandler
+    public void onBlockPlace(BlockPlaceEvent event) {
+        cancelInIslandWorld(event, event.getBlock().getWorld());
+    }
+
+    @EventHandler
+    public void onInteract(PlayerInteractEvent event) {
+        cancelInIslandWorld(event, event.getPlayer().getWorld());
+    }
+
+    private void cancelInIslandWorld(Cancellable event, World world) {
+        if (world.equals(IridiumSkyblockAPI.getInstance().getWorld())) {
+            event.setCancelled(true);
+        }
+    }
+
+}
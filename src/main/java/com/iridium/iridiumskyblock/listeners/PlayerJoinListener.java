@@ -1,18 +1,34 @@
 package com.iridium.iridiumskyblock.listeners;
 
+import com.iridium.iridiumskyblock.IridiumSkyblock;
 import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
 import com.iridium.iridiumskyblock.database.Island;
 import com.iridium.iridiumskyblock.database.User;
+import com.iridium.iridiumskyblock.managers.DatabaseManager;
 import com.iridium.iridiumskyblock.utils.PlayerUtils;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class PlayerJoinListener implements Listener {
 
+    @EventHandler
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        // Loads the user, his Island and its members before he joins, so this doesn't have to be done on the main thread when lazy loading is enabled
+        DatabaseManager databaseManager = IridiumSkyblock.getInstance().getDatabaseManager();
+        databaseManager.loadUser(event.getUniqueId())
+                .thenCompose(user -> user.flatMap(User::getIsland)
+                        .map(island -> CompletableFuture.allOf(databaseManager.loadIslandDataAsync(island), databaseManager.loadIslandMembersAsync(island.getId())))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null)))
+                .exceptionally(throwable -> null)
+                .join();
+    }
+
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
@@ -24,7 +40,10 @@ public class PlayerJoinListener implements Listener {
 
         // Send their island border
         Optional<Island> optionalIsland = IridiumSkyblockAPI.getInstance().getIslandViaLocation(player.getLocation());
-        optionalIsland.ifPresent(island -> PlayerUtils.sendBorder(player, island));
+        optionalIsland.ifPresent(island -> {
+            PlayerUtils.sendBorder(player, island);
+            IridiumSkyblock.getInstance().getDatabaseManager().loadIslandDataAsync(island);
+        });
     }
 
 }
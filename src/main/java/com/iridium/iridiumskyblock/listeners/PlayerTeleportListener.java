@@ -1,5 +1,6 @@
 package com.iridium.iridiumskyblock.listeners;
 
+import com.iridium.iridiumskyblock.IridiumSkyblock;
 import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
 import com.iridium.iridiumskyblock.database.Island;
 import com.iridium.iridiumskyblock.utils.PlayerUtils;
@@ -16,7 +17,11 @@ public class PlayerTeleportListener implements Listener {
     public void onPlayerTeleport(PlayerTeleportEvent event) {
         Player player = event.getPlayer();
         Optional<Island> optionalIsland = IridiumSkyblockAPI.getInstance().getIslandViaLocation(event.getTo());
-        optionalIsland.ifPresent(island -> PlayerUtils.sendBorder(player, island));
+        optionalIsland.ifPresent(island -> {
+            PlayerUtils.sendBorder(player, island);
+            // Loaded in the background before the player interacts with the Island
+            IridiumSkyblock.getInstance().getDatabaseManager().loadIslandDataAsync(island);
+        });
     }
 
 }
@@ -1,25 +1,38 @@
 package com.iridium.iridiumskyblock.managers;
 
 import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.IslandRank;
 import com.iridium.iridiumskyblock.Mission;
 import com.iridium.iridiumskyblock.configs.SQL;
 import com.iridium.iridiumskyblock.database.*;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.JdbcDatabaseConnection;
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.jdbc.db.DatabaseTypeUtils;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DatabaseTableConfig;
 import com.j256.ormlite.table.TableUtils;
 import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +42,8 @@ public class DatabaseManager {
 
     private final SQL sqlConfig;
     private final ConnectionSource connectionSource;
+    // Used by the lazy loads, so they never wait for the writes. The same as connectionSource for database servers.
+    private final ConnectionSource readConnectionSource;
 
     private final Dao<User, UUID> userDao;
     private final Dao<Island, Integer> islandDao;
@@ -38,23 +53,89 @@ public class DatabaseManager {
     private final Dao<IslandBlocks, Integer> islandblocksDao;
     private final Dao<IslandBank, Integer> islandBankDao;
     private final Dao<IslandMission, Integer> islandMissionDao;
+    private final Dao<IslandSlot, Integer> islandSlotDao;
+    private final Dao<FreeIslandPosition, Integer> freeIslandPositionDao;
+
+    // The DAOs of the lazy loads, they use the read connection
+    private final Dao<User, UUID> userReadDao;
+    private final Dao<IslandPermission, Integer> islandPermissionReadDao;
+    private final Dao<IslandBlocks, Integer> islandBlocksReadDao;
+    private final Dao<IslandBank, Integer> islandBankReadDao;
+    private final Dao<IslandMission, Integer> islandMissionReadDao;
+
+    private final BatchUpsert<User> userUpsert;
+    private final BatchUpsert<Island> islandUpsert;
+    private final BatchUpsert<IslandInvite> islandInviteUpsert;
+    private final BatchUpsert<IslandPermission> islandPermissionUpsert;
+    private final BatchUpsert<IslandBlocks> islandBlocksUpsert;
+    private final BatchUpsert<IslandBank> islandBankUpsert;
+    private final BatchUpsert<IslandMission> islandMissionUpsert;
 
     @Getter
-    private final List<User> userList;
+    private final Set<User> userList;
     @Getter
-    private final List<Island> islandList;
+    private final Set<Island> islandList;
     @Getter
-    private final List<IslandInvite> islandInviteList;
+    private final Set<IslandInvite> islandInviteList;
     @Getter
     private final List<SchematicData> schematicDataList;
     @Getter
-    private final List<IslandPermission> islandPermissionList;
+    private final Set<IslandPermission> islandPermissionList;
+    @Getter
+    private final Set<IslandBlocks> islandBlocksList;
     @Getter
-    private final List<IslandBlocks> islandBlocksList;
+    private final Set<IslandBank> islandBankList;
     @Getter
-    private final List<IslandBank> islandBankList;
+    private final Set<IslandMission> islandMissionList;
     @Getter
-    private final List<IslandMission> islandMissionList;
+    private final List<IslandSlot> islandSlotList;
+    @Getter
+    private final List<FreeIslandPosition> freeIslandPositionList;
+
+    // Indexes for fast lookups, they have to be updated whenever one of the lists above changes
+    private final Map<Integer, Island> islandIdIndex = new ConcurrentHashMap<>();
+    private final Map<String, Island> islandNameIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, User> userIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, List<IslandInvite>> islandInviteIndex = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<User>> islandMemberIndex = new ConcurrentHashMap<>();
+    private final Map<Integer, User> islandOwnerIndex = new ConcurrentHashMap<>();
+
+    // Islands indexed by their position on the island grid, updated by the writer thread and read by the main thread
+    private final Map<Integer, Island> islandGrid = new ConcurrentHashMap<>();
+
+    // Every database write runs on this single thread in the order it has been submitted, so gameplay threads never wait for the database
+    private final ThreadPoolExecutor writeExecutor;
+    // Limits the pending writes of other threads than the main thread, they wait until the writer caught up
+    private final Semaphore writePermits;
+    private volatile Thread writerThread;
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    // Only used with lazy loading, loads Users and the data of Islands without waiting behind the writes
+    private final ExecutorService readExecutor;
+    private final Set<Thread> readerThreads = ConcurrentHashMap.newKeySet();
+
+    // Only used with lazy loading, the ids of Islands whose members or data have been loaded
+    private final Set<Integer> loadedIslandMembers = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> loadedIslandData = ConcurrentHashMap.newKeySet();
+    // Loads which are still running on a reader thread, so the same data is never loaded twice
+    private final Map<UUID, CompletableFuture<Optional<User>>> pendingUserLoads = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Void>> pendingIslandMemberLoads = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Void>> pendingIslandDataLoads = new ConcurrentHashMap<>();
+    // Players who aren't in the database, so they aren't queried again until they are added
+    private final Set<UUID> missingUsers = ConcurrentHashMap.newKeySet();
+    // Evicted Users which might still be referenced, they are used again when they are loaded so there is only one instance of every User
+    private final Map<UUID, WeakReference<User>> evictedUsers = new ConcurrentHashMap<>();
+    // Held while the data of an Island is added, evicted or its block rows are updated, so the writer never saves a half cleared table
+    private final Object islandDataLock = new Object();
+
+    // Only used with lazy loading, when loaded Users and the data of Islands have been used the last time
+    private final Map<UUID, Long> userAccessTimes = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> islandDataAccessTimes = new ConcurrentHashMap<>();
+    private final LongAdder userHits = new LongAdder();
+    private final LongAdder userMisses = new LongAdder();
+    private final LongAdder userEvictions = new LongAdder();
+    private final LongAdder islandDataHits = new LongAdder();
+    private final LongAdder islandDataMisses = new LongAdder();
+    private final LongAdder islandDataEvictions = new LongAdder();
 
     /**
      * The default constructor.
@@ -65,21 +146,20 @@ public class DatabaseManager {
         this.sqlConfig = IridiumSkyblock.getInstance().getSql();
         String databaseURL = getDatabaseURL();
 
-        connectionSource = new JdbcConnectionSource(
-                databaseURL,
-                sqlConfig.username,
-                sqlConfig.password,
-                DatabaseTypeUtils.createDatabaseType(databaseURL)
-        );
+        connectionSource = createConnectionSource(databaseURL);
 
         TableUtils.createTableIfNotExists(connectionSource, User.class);
         TableUtils.createTableIfNotExists(connectionSource, Island.class);
+        createColumn(Island.class, "position", "INTEGER NOT NULL DEFAULT 0");
+        createColumn(Island.class, "last_full_scan", "BIGINT NOT NULL DEFAULT 0");
         TableUtils.createTableIfNotExists(connectionSource, SchematicData.class);
         TableUtils.createTableIfNotExists(connectionSource, IslandInvite.class);
         TableUtils.createTableIfNotExists(connectionSource, IslandPermission.class);
         TableUtils.createTableIfNotExists(connectionSource, IslandBlocks.class);
         TableUtils.createTableIfNotExists(connectionSource, IslandBank.class);
         TableUtils.createTableIfNotExists(connectionSource, IslandMission.class);
+        TableUtils.createTableIfNotExists(connectionSource, IslandSlot.class);
+        TableUtils.createTableIfNotExists(connectionSource, FreeIslandPosition.class);
 
         this.userDao = DaoManager.createDao(connectionSource, User.class);
         this.islandDao = DaoManager.createDao(connectionSource, Island.class);
@@ -89,23 +169,158 @@ public class DatabaseManager {
         this.islandblocksDao = DaoManager.createDao(connectionSource, IslandBlocks.class);
         this.islandBankDao = DaoManager.createDao(connectionSource, IslandBank.class);
         this.islandMissionDao = DaoManager.createDao(connectionSource, IslandMission.class);
+        this.islandSlotDao = DaoManager.createDao(connectionSource, IslandSlot.class);
+        this.freeIslandPositionDao = DaoManager.createDao(connectionSource, FreeIslandPosition.class);
+
+        // File based databases only have a single connection which isn't thread safe, lazy loads get a second one
+        if (sqlConfig.lazyLoading && !(connectionSource instanceof JdbcPooledConnectionSource)) {
+            if (sqlConfig.driver == SQL.Driver.SQLITE) {
+                // Readers don't block the writer and aren't blocked by it in the write-ahead log mode
+                userDao.executeRaw("PRAGMA journal_mode=WAL");
+            }
+            readConnectionSource = createConnectionSource(databaseURL);
+        } else {
+            readConnectionSource = connectionSource;
+        }
+        this.userReadDao = DaoManager.createDao(readConnectionSource, User.class);
+        this.islandPermissionReadDao = DaoManager.createDao(readConnectionSource, IslandPermission.class);
+        this.islandBlocksReadDao = DaoManager.createDao(readConnectionSource, IslandBlocks.class);
+        this.islandBankReadDao = DaoManager.createDao(readConnectionSource, IslandBank.class);
+        this.islandMissionReadDao = DaoManager.createDao(readConnectionSource, IslandMission.class);
+
+        DatabaseType databaseType = connectionSource.getDatabaseType();
+        this.userUpsert = new BatchUpsert<>(userDao, sqlConfig.driver, databaseType);
+        this.islandUpsert = new BatchUpsert<>(islandDao, sqlConfig.driver, databaseType);
+        this.islandInviteUpsert = new BatchUpsert<>(islandInviteDao, sqlConfig.driver, databaseType);
+        this.islandPermissionUpsert = new BatchUpsert<>(islandPermissionDao, sqlConfig.driver, databaseType);
+        this.islandBlocksUpsert = new BatchUpsert<>(islandblocksDao, sqlConfig.driver, databaseType);
+        this.islandBankUpsert = new BatchUpsert<>(islandBankDao, sqlConfig.driver, databaseType);
+        this.islandMissionUpsert = new BatchUpsert<>(islandMissionDao, sqlConfig.driver, databaseType);
+
+        // The collections are read by the writer thread while gameplay threads change them
+        // The collections are filled by loadData()
+        // The large tables are concurrent sets, so adding and removing a row doesn't copy all others. Islands stay ordered by their id.
+        this.userList = ConcurrentHashMap.newKeySet();
+        this.islandList = new ConcurrentSkipListSet<>(Comparator.comparingInt(Island::getId));
+        this.islandInviteList = ConcurrentHashMap.newKeySet();
+        this.islandPermissionList = ConcurrentHashMap.newKeySet();
+        this.islandBlocksList = ConcurrentHashMap.newKeySet();
+        this.islandBankList = ConcurrentHashMap.newKeySet();
+        this.islandMissionList = ConcurrentHashMap.newKeySet();
+        // Small tables which rarely change
+        this.schematicDataList = new CopyOnWriteArrayList<>();
+        this.islandSlotList = new CopyOnWriteArrayList<>();
+        this.freeIslandPositionList = new CopyOnWriteArrayList<>();
+
+        // The queue is unbounded, so the main thread never has to wait. Other threads are limited by the write permits.
+        this.writeExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "IridiumSkyblock Database Writer");
+            thread.setDaemon(true);
+            writerThread = thread;
+            return thread;
+        });
+        this.writePermits = new Semaphore(sqlConfig.writeQueueSize);
+
+        // The pool has a connection for the writer and one for every reader, file based databases have a single reader
+        int readers = connectionSource instanceof JdbcPooledConnectionSource ? Math.max(1, sqlConfig.pool.maxConnections - 1) : 1;
+        AtomicInteger readerId = new AtomicInteger();
+        this.readExecutor = Executors.newFixedThreadPool(readers, runnable -> {
+            Thread thread = new Thread(runnable, "IridiumSkyblock Database Reader " + readerId.incrementAndGet());
+            thread.setDaemon(true);
+            readerThreads.add(thread);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the data from the database and builds the indexes.
+     * The tables are loaded concurrently on up to the maximum amount of connections if the database has a connection pool,
+     * file based databases only have a single connection and load them one after another.
+     * Nothing else may use the database before the returned CompletableFuture has completed.
+     *
+     * @return A CompletableFuture which completes after all data has been loaded
+     */
+    public @NotNull CompletableFuture<Void> loadData() {
+        boolean parallel = connectionSource instanceof JdbcPooledConnectionSource;
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService loadExecutor = Executors.newFixedThreadPool(parallel ? Math.max(1, Math.min(4, sqlConfig.pool.maxConnections)) : 1, runnable -> {
+            Thread thread = new Thread(runnable, "IridiumSkyblock Database Loader " + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // With lazy loading only the Islands themselves are loaded, they are needed for the island grid and the leaderboard.
+        // Users and the data of Islands are loaded when they are used for the first time.
+        boolean lazyLoading = sqlConfig.lazyLoading;
+        CompletableFuture<Void> indexes = CompletableFuture.runAsync(() -> {
+            if (!lazyLoading) return;
+            createIndex(userDao, "island_id");
+            createIndex(islandPermissionDao, "island_id");
+            createIndex(islandblocksDao, "island_id");
+            createIndex(islandBankDao, "island_id");
+            createIndex(islandMissionDao, "island_id");
+        }, loadExecutor);
+        CompletableFuture<List<User>> users = loadTable("users", lazyLoading ? Collections::emptyList : this::getUsers, loadExecutor);
+        CompletableFuture<List<Island>> islands = loadTable("islands", this::getIslands, loadExecutor);
+        CompletableFuture<List<IslandInvite>> islandInvites = loadTable("island invites", this::getIslandInvites, loadExecutor);
+        CompletableFuture<List<SchematicData>> schematics = loadTable("schematics", this::getSchematics, loadExecutor);
+        CompletableFuture<List<IslandPermission>> islandPermissions = loadTable("island permissions", lazyLoading ? Collections::emptyList : this::getIslandPermissions, loadExecutor);
+        CompletableFuture<List<IslandBlocks>> islandBlocks = loadTable("island blocks", lazyLoading ? Collections::emptyList : this::getIslandBlocks, loadExecutor);
+        CompletableFuture<List<IslandBank>> islandBanks = loadTable("island bank items", lazyLoading ? Collections::emptyList : this::getIslandBank, loadExecutor);
+        CompletableFuture<List<IslandMission>> islandMissions = loadTable("island missions", lazyLoading ? Collections::emptyList : this::getIslandMissions, loadExecutor);
+        CompletableFuture<List<IslandSlot>> islandSlots = loadTable("island slots", this::getIslandSlots, loadExecutor);
+        CompletableFuture<List<FreeIslandPosition>> freeIslandPositions = loadTable("free island positions", this::getFreeIslandPositions, loadExecutor);
+
+        return CompletableFuture.allOf(indexes, users, islands, islandInvites, schematics, islandPermissions, islandBlocks, islandBanks, islandMissions, islandSlots, freeIslandPositions).thenRunAsync(() -> {
+            long start = System.currentTimeMillis();
+            userList.addAll(users.join());
+            islandList.addAll(islands.join());
+            islandInviteList.addAll(islandInvites.join());
+            schematicDataList.addAll(schematics.join());
+            islandPermissionList.addAll(islandPermissions.join());
+            islandBlocksList.addAll(islandBlocks.join());
+            islandBankList.addAll(islandBanks.join());
+            islandMissionList.addAll(islandMissions.join());
+            islandSlotList.addAll(islandSlots.join());
+            freeIslandPositionList.addAll(freeIslandPositions.join());
+
+            // Islands created before positions were stored are at the position of their id
+            islandList.stream().filter(island -> island.getPosition() == 0).forEach(island -> island.setPosition(island.getId()));
 
-        userDao.setAutoCommit(getDatabaseConnection(), false);
-        islandDao.setAutoCommit(getDatabaseConnection(), false);
-        islandInviteDao.setAutoCommit(getDatabaseConnection(), false);
-        islandPermissionDao.setAutoCommit(getDatabaseConnection(), false);
-        islandblocksDao.setAutoCommit(getDatabaseConnection(), false);
-        islandBankDao.setAutoCommit(getDatabaseConnection(), false);
-        islandMissionDao.setAutoCommit(getDatabaseConnection(), false);
+            userList.forEach(user -> {
+                userIndex.put(user.getUuid(), user);
+                addToIslandMemberIndex(user);
+            });
+            islandList.forEach(this::addToIslandIndex);
+            islandInviteList.forEach(this::addToIslandInviteIndex);
+            islandPermissionList.forEach(this::addToPermissionTable);
+            islandBlocksList.forEach(this::addToValuableBlockTable);
+            if (!lazyLoading) {
+                islandList.forEach(island -> {
+                    double value = island.getValuableBlockTable().getValue();
+                    if (island.getValue() != value) island.setValue(value);
+                });
+            }
+            IridiumSkyblock.getInstance().getLogger().info("Built the database indexes in " + (System.currentTimeMillis() - start) + "ms");
+        }, loadExecutor).whenComplete((result, throwable) -> loadExecutor.shutdown());
+    }
 
-        this.userList = getUsers();
-        this.islandList = getIslands();
-        this.islandInviteList = getIslandInvites();
-        this.schematicDataList = getSchematics();
-        this.islandPermissionList = getIslandPermissions();
-        this.islandBlocksList = getIslandBlocks();
-        this.islandBankList = getIslandBank();
-        this.islandMissionList = getIslandMissions();
+    /**
+     * Loads a table on the provided executor and logs how long it took.
+     *
+     * @param name     The name of the table used in the log
+     * @param loader   The method which loads all rows of the table
+     * @param executor The executor the table is loaded on
+     * @param <T>      The type of the rows
+     * @return A CompletableFuture with the rows of the table
+     */
+    private <T> @NotNull CompletableFuture<List<T>> loadTable(@NotNull String name, @NotNull Supplier<List<T>> loader, @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            List<T> rows = loader.get();
+            IridiumSkyblock.getInstance().getLogger().info("Loaded " + rows.size() + " " + name + " in " + (System.currentTimeMillis() - start) + "ms");
+            return rows;
+        }, executor);
     }
 
     /**
@@ -131,13 +346,116 @@ public class DatabaseManager {
     }
 
     /**
-     * Returns a connection from the connection source.
+     * Creates the connection source for the configured driver.
+     * Database servers get a pool of connections, file based databases only support a single writer
+     * and use a single connection.
+     *
+     * @param databaseURL The database URL
+     * @return The connection source
+     * @throws SQLException If the connection could not be established
+     */
+    private @NotNull ConnectionSource createConnectionSource(@NotNull String databaseURL) throws SQLException {
+        switch (sqlConfig.driver) {
+            case H2:
+            case SQLITE:
+                return new JdbcConnectionSource(databaseURL, sqlConfig.username, sqlConfig.password, DatabaseTypeUtils.createDatabaseType(databaseURL));
+            default:
+                JdbcPooledConnectionSource pooledConnectionSource = new JdbcPooledConnectionSource(databaseURL, sqlConfig.username, sqlConfig.password, DatabaseTypeUtils.createDatabaseType(databaseURL));
+                pooledConnectionSource.setMaxConnectionsFree(sqlConfig.pool.maxIdleConnections);
+                pooledConnectionSource.setMaxConnectionAgeMillis(sqlConfig.pool.maxConnectionAgeMillis);
+                pooledConnectionSource.setCheckConnectionsEveryMillis(sqlConfig.pool.checkConnectionsEveryMillis);
+                pooledConnectionSource.setTestBeforeGet(sqlConfig.pool.testBeforeGet);
+                pooledConnectionSource.initialize();
+                return pooledConnectionSource;
+        }
+    }
+
+    /**
+     * Creates an index on a column if it doesn't exist yet.
      *
-     * @return The connection to the database for operations
-     * @throws SQLException If there is an error with the exception
+     * @param dao        The DAO of the table
+     * @param columnName The name of the column
      */
-    private DatabaseConnection getDatabaseConnection() throws SQLException {
-        return connectionSource.getReadWriteConnection(null);
+    private void createIndex(@NotNull Dao<?, ?> dao, @NotNull String columnName) {
+        String indexName = dao.getTableName() + "_" + columnName + "_idx";
+        try {
+            callInTransaction(() -> {
+                DatabaseConnection databaseConnection = connectionSource.getReadWriteConnection(dao.getTableName());
+                try {
+                    Connection connection = ((JdbcDatabaseConnection) databaseConnection).getInternalConnection();
+                    // Databases store unquoted names in different cases
+                    for (String tableName : Arrays.asList(dao.getTableName(), dao.getTableName().toUpperCase(Locale.ROOT))) {
+                        try (ResultSet resultSet = connection.getMetaData().getIndexInfo(null, null, tableName, false, false)) {
+                            while (resultSet.next()) {
+                                if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) return null;
+                            }
+                        }
+                    }
+                } finally {
+                    connectionSource.releaseConnection(databaseConnection);
+                }
+
+                StringBuilder sql = new StringBuilder("CREATE INDEX ");
+                connectionSource.getDatabaseType().appendEscapedEntityName(sql, indexName);
+                sql.append(" ON ");
+                connectionSource.getDatabaseType().appendEscapedEntityName(sql, dao.getTableName());
+                sql.append(" (");
+                connectionSource.getDatabaseType().appendEscapedEntityName(sql, columnName);
+                sql.append(")");
+                return dao.executeRaw(sql.toString());
+            });
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Adds a column to an existing table if it doesn't exist yet.
+     * Used for columns which have been added after the table was created.
+     *
+     * @param dataClass  The class of the table
+     * @param columnName The name of the column
+     * @param definition The type and constraints of the column
+     * @throws SQLException If the column could not be added
+     */
+    private void createColumn(@NotNull Class<?> dataClass, @NotNull String columnName, @NotNull String definition) throws SQLException {
+        String tableName = DatabaseTableConfig.extractTableName(connectionSource.getDatabaseType(), dataClass);
+        DatabaseConnection databaseConnection = connectionSource.getReadWriteConnection(tableName);
+        try {
+            Connection connection = ((JdbcDatabaseConnection) databaseConnection).getInternalConnection();
+            // Databases store unquoted names in different cases
+            for (String name : Arrays.asList(tableName, tableName.toUpperCase(Locale.ROOT))) {
+                try (ResultSet resultSet = connection.getMetaData().getColumns(null, null, name, null)) {
+                    while (resultSet.next()) {
+                        if (columnName.equalsIgnoreCase(resultSet.getString("COLUMN_NAME"))) return;
+                    }
+                }
+            }
+
+            StringBuilder sql = new StringBuilder("ALTER TABLE ");
+            connectionSource.getDatabaseType().appendEscapedEntityName(sql, tableName);
+            // SQL Server doesn't know the COLUMN keyword
+            sql.append(sqlConfig.driver == SQL.Driver.SQLSERVER ? " ADD " : " ADD COLUMN ");
+            connectionSource.getDatabaseType().appendEscapedEntityName(sql, columnName);
+            sql.append(" ").append(definition);
+            databaseConnection.executeStatement(sql.toString(), DatabaseConnection.DEFAULT_RESULT_FLAGS);
+        } finally {
+            connectionSource.releaseConnection(databaseConnection);
+        }
+    }
+
+    /**
+     * Runs database operations in a transaction on one connection of the connection source.
+     * All DAO calls made by the task use this connection. The transaction is committed if the task succeeds
+     * and rolled back if it fails.
+     *
+     * @param task The task which should be executed
+     * @param <T>  The type of the result
+     * @return The result of the task
+     * @throws SQLException If the task or the transaction failed
+     */
+    private <T> T callInTransaction(@NotNull Callable<T> task) throws SQLException {
+        return TransactionManager.callInTransaction(connectionSource, task);
     }
 
     /**
@@ -148,7 +466,7 @@ public class DatabaseManager {
      */
     private @NotNull List<User> getUsers() {
         try {
-            return userDao.queryForAll();
+            return markSaved(userDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -163,7 +481,7 @@ public class DatabaseManager {
      */
     private @NotNull List<Island> getIslands() {
         try {
-            return islandDao.queryForAll();
+            return markSaved(islandDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -178,7 +496,7 @@ public class DatabaseManager {
      */
     private @NotNull List<IslandInvite> getIslandInvites() {
         try {
-            return islandInviteDao.queryForAll();
+            return markSaved(islandInviteDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -193,7 +511,7 @@ public class DatabaseManager {
      */
     private @NotNull List<IslandPermission> getIslandPermissions() {
         try {
-            return islandPermissionDao.queryForAll();
+            return markSaved(islandPermissionDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -208,7 +526,7 @@ public class DatabaseManager {
      */
     private @NotNull List<IslandBlocks> getIslandBlocks() {
         try {
-            return islandblocksDao.queryForAll();
+            return markSaved(islandblocksDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -238,7 +556,7 @@ public class DatabaseManager {
      */
     private @NotNull List<IslandBank> getIslandBank() {
         try {
-            return islandBankDao.queryForAll();
+            return markSaved(islandBankDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -253,7 +571,7 @@ public class DatabaseManager {
      */
     private @NotNull List<IslandMission> getIslandMissions() {
         try {
-            return islandMissionDao.queryForAll();
+            return markSaved(islandMissionDao.queryForAll());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
@@ -261,187 +579,1010 @@ public class DatabaseManager {
     }
 
     /**
-     * Saves an island to the database and initializes variables like ID
+     * Returns a list of all island slots in the database.
+     * Empty if an error occurs.
      *
-     * @param island The island we are saving
-     * @return The island with variables like id added
+     * @return a List of all island slots
      */
-    public Island registerIsland(Island island) {
+    private @NotNull List<IslandSlot> getIslandSlots() {
         try {
-            islandDao.createOrUpdate(island);
-            islandDao.commit(getDatabaseConnection());
-            Island is = islandDao.queryBuilder().where().eq("name", island.getName()).queryForFirst();
-            islandList.add(is);
-            return is;
+            return islandSlotDao.queryForAll();
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
-        return island;
+        return Collections.emptyList();
     }
 
     /**
-     * Saves all users to the database.
-     * Creates them if they don't exist
+     * Returns a list of all free island positions in the database.
+     * Empty if an error occurs.
+     *
+     * @return a List of all free island positions
      */
-    public void saveUsers() {
+    private @NotNull List<FreeIslandPosition> getFreeIslandPositions() {
         try {
-            for (User user : userList) {
-                userDao.createOrUpdate(user);
-            }
-            userDao.commit(getDatabaseConnection());
+            return freeIslandPositionDao.queryForAll();
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
+        return Collections.emptyList();
     }
 
     /**
-     * Saves all Islands to the database.
-     * Creates them if they don't exist.
+     * Marks freshly loaded objects as saved, they don't have to be written until they change.
+     *
+     * @param databaseObjects The objects which have been loaded
+     * @return The same list of objects
+     */
+    private <T extends DatabaseObject> @NotNull List<T> markSaved(@NotNull List<T> databaseObjects) {
+        databaseObjects.forEach(databaseObject -> databaseObject.setChanged(false));
+        return databaseObjects;
+    }
+
+    /**
+     * Finds an Island by its id.
+     *
+     * @param id The id of the Island
+     * @return An Optional with the Island, empty if there is none
+     */
+    public Optional<Island> getIslandById(int id) {
+        return Optional.ofNullable(islandIdIndex.get(id));
+    }
+
+    /**
+     * Finds an Island by its name, ignoring the case.
+     *
+     * @param name The name of the Island
+     * @return An Optional with the Island, empty if there is none
+     */
+    public Optional<Island> getIslandByName(@NotNull String name) {
+        return Optional.ofNullable(islandNameIndex.get(name.toLowerCase()));
+    }
+
+    /**
+     * Returns the Island at the provided position on the island grid.
+     *
+     * @param position The position on the island grid
+     * @return An Optional with the Island, empty if there is none
+     * @see com.iridium.iridiumskyblock.utils.GridUtils
+     */
+    public Optional<Island> getIslandByPosition(int position) {
+        return Optional.ofNullable(islandGrid.get(position));
+    }
+
+    /**
+     * Finds a User by his {@link UUID}.
+     * With lazy loading a User who isn't in the memory is loaded from the database and this waits for the query.
+     * The query uses its own connection, so it never waits for the writes.
+     * Players are loaded before they join, use {@link #loadUser(UUID)} for other Users where possible.
+     *
+     * @param uuid The UUID of the User
+     * @return An Optional with the User, empty if there is none
+     */
+    public Optional<User> getUserByUUID(@NotNull UUID uuid) {
+        User user = userIndex.get(uuid);
+        if (!sqlConfig.lazyLoading) return Optional.ofNullable(user);
+        if (user == null) {
+            if (missingUsers.contains(uuid)) return Optional.empty();
+            userMisses.increment();
+            // A reader can't wait for a task which is queued behind the one it is running
+            return isReaderThread() ? queryUser(uuid) : loadUser(uuid).exceptionally(throwable -> Optional.empty()).join();
+        }
+        userHits.increment();
+        userAccessTimes.put(uuid, System.currentTimeMillis());
+        return Optional.of(user);
+    }
+
+    /**
+     * Loads a User from the database on a reader thread when lazy loading is enabled.
+     * Completes immediately if he is already loaded or known to be missing.
+     *
+     * @param uuid The UUID of the User
+     * @return A CompletableFuture with the User, empty if there is none
+     */
+    public @NotNull CompletableFuture<Optional<User>> loadUser(@NotNull UUID uuid) {
+        User user = userIndex.get(uuid);
+        if (!sqlConfig.lazyLoading || user != null || missingUsers.contains(uuid)) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(user));
+        }
+        CompletableFuture<Optional<User>> load = pendingUserLoads.computeIfAbsent(uuid, id -> supplyRead(() -> queryUser(id)));
+        load.whenComplete((result, throwable) -> pendingUserLoads.remove(uuid, load));
+        return load;
+    }
+
+    /**
+     * Queries a User and adds him to the memory.
+     * Has to be called on a database reader thread.
+     *
+     * @param uuid The UUID of the User
+     * @return An Optional with the User, empty if there is none
      */
-    public void saveIslands() {
+    private @NotNull Optional<User> queryUser(@NotNull UUID uuid) {
+        User user = userIndex.get(uuid);
+        if (user != null) return Optional.of(user);
         try {
-            for (Island island : islandList) {
-                islandDao.createOrUpdate(island);
-            }
-            islandDao.commit(getDatabaseConnection());
+            user = userReadDao.queryForId(uuid);
         } catch (SQLException exception) {
             exception.printStackTrace();
+            return Optional.empty();
+        }
+        if (user == null) {
+            missingUsers.add(uuid);
+            // He might have been added while he was queried
+            if (userIndex.containsKey(uuid)) missingUsers.remove(uuid);
+            return Optional.ofNullable(userIndex.get(uuid));
         }
+        addLoadedUsers(markSaved(Collections.singletonList(user)));
+        return Optional.ofNullable(userIndex.get(uuid));
     }
 
     /**
-     * Saves all Island invites to the database.
-     * Creates them if they don't exist.
+     * Loads all members of an Island from the database when lazy loading is enabled and waits for them.
+     * Does nothing if they have already been loaded.
+     *
+     * @param islandId The id of the Island
+     */
+    private void loadIslandMembers(int islandId) {
+        if (!sqlConfig.lazyLoading || loadedIslandMembers.contains(islandId)) return;
+        if (isReaderThread()) {
+            queryIslandMembers(islandId);
+        } else {
+            loadIslandMembersAsync(islandId).exceptionally(throwable -> null).join();
+        }
+    }
+
+    /**
+     * Loads all members of an Island from the database on a reader thread when lazy loading is enabled.
+     * Completes immediately if they have already been loaded.
+     *
+     * @param islandId The id of the Island
+     * @return A CompletableFuture which completes after the members have been loaded
+     */
+    public @NotNull CompletableFuture<Void> loadIslandMembersAsync(int islandId) {
+        if (!sqlConfig.lazyLoading || loadedIslandMembers.contains(islandId)) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> load = pendingIslandMemberLoads.computeIfAbsent(islandId, id -> runRead(() -> queryIslandMembers(id)));
+        load.whenComplete((result, throwable) -> pendingIslandMemberLoads.remove(islandId, load));
+        return load;
+    }
+
+    /**
+     * Queries all members of an Island and adds them to the memory.
+     * Has to be called on a database reader thread.
+     *
+     * @param islandId The id of the Island
      */
-    public void saveIslandInvites() {
+    private void queryIslandMembers(int islandId) {
+        if (loadedIslandMembers.contains(islandId)) return;
         try {
-            for (IslandInvite islandInvite : islandInviteList) {
-                islandInviteDao.createOrUpdate(islandInvite);
-            }
-            islandInviteDao.commit(getDatabaseConnection());
+            addLoadedUsers(markSaved(userReadDao.queryForEq("island_id", islandId)));
+            loadedIslandMembers.add(islandId);
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
     }
 
     /**
-     * Saves all Island permissions to the database.
-     * Creates them if they don't exist.
+     * Adds loaded Users to the list and the indexes.
+     * Users which are already loaded are skipped, they might have changes which haven't been saved yet.
+     * Evicted instances which are still referenced are used instead of the loaded ones, changes made to them are kept.
+     *
+     * @param users The loaded Users
+     */
+    private void addLoadedUsers(@NotNull List<User> users) {
+        for (User loadedUser : users) {
+            WeakReference<User> evictedReference = evictedUsers.remove(loadedUser.getUuid());
+            User evictedUser = evictedReference != null ? evictedReference.get() : null;
+            User user = evictedUser != null ? evictedUser : loadedUser;
+            if (userIndex.putIfAbsent(user.getUuid(), user) != null) continue;
+            userList.add(user);
+            userAccessTimes.put(user.getUuid(), System.currentTimeMillis());
+            addToIslandMemberIndex(user);
+        }
+    }
+
+    /**
+     * Loads the permissions, blocks, bank items and missions of an Island when lazy loading is enabled and waits for them.
+     * Does nothing if they have already been loaded.
+     * Has to be called before any of them are used. The data of Islands is loaded in the background
+     * when players join or teleport to them, so the main thread rarely has to wait for the database.
+     *
+     * @param island The specified Island
+     */
+    public void loadIslandData(@NotNull Island island) {
+        if (!sqlConfig.lazyLoading) return;
+        if (loadedIslandData.contains(island.getId())) {
+            islandDataAccessTimes.put(island.getId(), System.currentTimeMillis());
+            islandDataHits.increment();
+            return;
+        }
+        if (isReaderThread()) {
+            queryIslandData(island);
+        } else {
+            loadIslandDataAsync(island).exceptionally(throwable -> null).join();
+        }
+    }
+
+    /**
+     * Loads the permissions, blocks, bank items and missions of an Island on a reader thread when lazy loading is enabled.
+     * Completes immediately if they have already been loaded.
+     *
+     * @param island The specified Island
+     * @return A CompletableFuture which completes after the data has been loaded
+     */
+    public @NotNull CompletableFuture<Void> loadIslandDataAsync(@NotNull Island island) {
+        if (!sqlConfig.lazyLoading) return CompletableFuture.completedFuture(null);
+        islandDataAccessTimes.put(island.getId(), System.currentTimeMillis());
+        if (loadedIslandData.contains(island.getId())) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> load = pendingIslandDataLoads.computeIfAbsent(island.getId(), id -> runRead(() -> queryIslandData(island)));
+        load.whenComplete((result, throwable) -> pendingIslandDataLoads.remove(island.getId(), load));
+        return load;
+    }
+
+    /**
+     * Queries the permissions, blocks, bank items and missions of an Island and adds them to the memory.
+     * Has to be called on a database reader thread.
+     *
+     * @param island The specified Island
      */
-    public void saveIslandPermissions() {
+    private void queryIslandData(@NotNull Island island) {
+        if (loadedIslandData.contains(island.getId())) return;
+        islandDataMisses.increment();
         try {
-            for (IslandPermission islandPermission : islandPermissionList) {
-                islandPermissionDao.createOrUpdate(islandPermission);
+            List<IslandPermission> islandPermissions = markSaved(islandPermissionReadDao.queryForEq("island_id", island.getId()));
+            List<IslandBlocks> islandBlocks = markSaved(islandBlocksReadDao.queryForEq("island_id", island.getId()));
+            List<IslandBank> islandBanks = markSaved(islandBankReadDao.queryForEq("island_id", island.getId()));
+            List<IslandMission> islandMissions = markSaved(islandMissionReadDao.queryForEq("island_id", island.getId()));
+
+            synchronized (islandDataLock) {
+                if (loadedIslandData.contains(island.getId())) return;
+                islandPermissionList.addAll(islandPermissions);
+                islandPermissions.forEach(this::addToPermissionTable);
+                islandBlocksList.addAll(islandBlocks);
+                islandBlocks.forEach(this::addToValuableBlockTable);
+                islandBankList.addAll(islandBanks);
+                islandMissionList.addAll(islandMissions);
+                // Added last, the data is only used by other threads after this
+                loadedIslandData.add(island.getId());
             }
-            islandPermissionDao.commit(getDatabaseConnection());
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
     }
 
     /**
-     * Saves all schematics to the database.
-     * Creates them if they don't exist.
+     * Returns whether or not the permissions, blocks, bank items and missions of an Island are in the memory.
+     * Always true if lazy loading is disabled.
+     *
+     * @param island The specified Island
+     * @return If the data of the Island is loaded
      */
-    public void saveSchematics() {
-        try {
-            for (SchematicData schematic : schematicDataList) {
-                schematicDao.createOrUpdate(schematic);
+    public boolean isIslandDataLoaded(@NotNull Island island) {
+        return !sqlConfig.lazyLoading || loadedIslandData.contains(island.getId());
+    }
+
+    /**
+     * Returns all members of the Island with the provided id.
+     *
+     * @param islandId The id of the Island
+     * @return A list of all Users belonging to the Island
+     */
+    public @NotNull List<User> getIslandMembers(int islandId) {
+        loadIslandMembers(islandId);
+        Set<User> members = islandMemberIndex.get(islandId);
+        return members == null ? new ArrayList<>() : new ArrayList<>(members);
+    }
+
+    /**
+     * Returns the owner of the Island with the provided id.
+     *
+     * @param islandId The id of the Island
+     * @return An Optional with the owner, empty if the Island has none
+     */
+    public Optional<User> getIslandOwner(int islandId) {
+        loadIslandMembers(islandId);
+        return Optional.ofNullable(islandOwnerIndex.get(islandId));
+    }
+
+    /**
+     * Returns all IslandInvites of the User with the provided {@link UUID}.
+     *
+     * @param uuid The UUID of the invited User
+     * @return An unmodifiable list of the invites, empty if there are none
+     */
+    public @NotNull List<IslandInvite> getIslandInvites(@NotNull UUID uuid) {
+        List<IslandInvite> islandInvites = islandInviteIndex.get(uuid);
+        return islandInvites == null ? Collections.emptyList() : Collections.unmodifiableList(islandInvites);
+    }
+
+    /**
+     * Adds a new User.
+     * It will be created in the database on the next save.
+     *
+     * @param user The User which should be added
+     */
+    public void addUser(@NotNull User user) {
+        userList.add(user);
+        userIndex.put(user.getUuid(), user);
+        missingUsers.remove(user.getUuid());
+        if (sqlConfig.lazyLoading) userAccessTimes.put(user.getUuid(), System.currentTimeMillis());
+    }
+
+    /**
+     * Removes the least recently used offline Users and data of Islands without online members from the memory
+     * when there are more of them than configured. Changes are saved before they are removed.
+     * Only used with lazy loading, they are loaded again when they are needed.
+     * Has to be called on the main thread.
+     */
+    public void evictCache() {
+        if (!sqlConfig.lazyLoading) return;
+        long start = System.currentTimeMillis();
+        // Bounded like the Users, players who are still missing are queried once more afterwards
+        if (missingUsers.size() > sqlConfig.maxCachedUsers) missingUsers.clear();
+        // Evicted Users which have been changed through an old reference are added again, so their changes are saved
+        evictedUsers.values().removeIf(evictedUser -> evictedUser.get() == null);
+        addLoadedUsers(evictedUsers.values().stream()
+                .map(WeakReference::get)
+                .filter(user -> user != null && user.isChanged())
+                .collect(Collectors.toList()));
+
+        // Online players and the Islands they are members of are pinned
+        List<User> users = userIndex.values().stream()
+                .filter(user -> Bukkit.getPlayer(user.getUuid()) == null)
+                .sorted(Comparator.comparingLong(user -> userAccessTimes.getOrDefault(user.getUuid(), 0L)))
+                .limit(Math.max(0, userIndex.size() - sqlConfig.maxCachedUsers))
+                .collect(Collectors.toList());
+        List<Island> islands = loadedIslandData.stream()
+                .filter(islandId -> islandMemberIndex.getOrDefault(islandId, Collections.emptySet()).stream().noneMatch(user -> Bukkit.getPlayer(user.getUuid()) != null))
+                .sorted(Comparator.comparingLong(islandId -> islandDataAccessTimes.getOrDefault(islandId, 0L)))
+                .limit(Math.max(0, loadedIslandData.size() - sqlConfig.maxCachedIslands))
+                .map(islandIdIndex::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (users.isEmpty() && islands.isEmpty()) return;
+
+        // Write back all changes of the evicted data
+        Set<Integer> islandIds = islands.stream().map(Island::getId).collect(Collectors.toSet());
+        islands.forEach(this::updateIslandBlocks);
+        List<IslandPermission> islandPermissions = islandPermissionList.stream().filter(islandPermission -> islandIds.contains(islandPermission.getIslandId())).collect(Collectors.toList());
+        List<IslandBlocks> islandBlocks = islandBlocksList.stream().filter(islandBlock -> islandIds.contains(islandBlock.getIslandId())).collect(Collectors.toList());
+        List<IslandBank> islandBanks = islandBankList.stream().filter(islandBank -> islandIds.contains(islandBank.getIsland())).collect(Collectors.toList());
+        List<IslandMission> islandMissions = islandMissionList.stream().filter(islandMission -> islandIds.contains(islandMission.getIsland())).collect(Collectors.toList());
+
+        runAsync(() -> {
+            saveChanged(userUpsert, users);
+            saveChanged(islandPermissionUpsert, islandPermissions);
+            saveChanged(islandBlocksUpsert, islandBlocks);
+            saveChanged(islandBankUpsert, islandBanks);
+            saveChanged(islandMissionUpsert, islandMissions);
+        }).thenRun(() -> Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> {
+            // Data which has been used or changed during the save stays in the memory
+            Set<User> removedUsers = users.stream()
+                    .filter(user -> !user.isChanged() && userAccessTimes.getOrDefault(user.getUuid(), 0L) < start && Bukkit.getPlayer(user.getUuid()) == null)
+                    .collect(Collectors.toSet());
+            Set<Integer> evictedIslands = islandIds.stream()
+                    .filter(islandId -> islandDataAccessTimes.getOrDefault(islandId, 0L) < start)
+                    .collect(Collectors.toSet());
+            evictedIslands.removeIf(islandId -> islandPermissions.stream().anyMatch(islandPermission -> islandPermission.getIslandId() == islandId && islandPermission.isChanged())
+                    || islandBlocks.stream().anyMatch(islandBlock -> islandBlock.getIslandId() == islandId && islandBlock.isChanged())
+                    || islandBanks.stream().anyMatch(islandBank -> islandBank.getIsland() == islandId && islandBank.isChanged())
+                    || islandMissions.stream().anyMatch(islandMission -> islandMission.getIsland() == islandId && islandMission.isChanged()));
+
+            for (User user : removedUsers) {
+                removeFromIslandMemberIndex(user);
+                userIndex.remove(user.getUuid());
+                userAccessTimes.remove(user.getUuid());
+                evictedUsers.put(user.getUuid(), new WeakReference<>(user));
+                // The members of his Island are incomplete now
+                if (user.getIslandId() != null) loadedIslandMembers.remove(user.getIslandId());
             }
-        } catch (SQLException exception) {
-            exception.printStackTrace();
+            userList.removeAll(removedUsers);
+
+            // The writer can't create block rows for these Islands between clearing their tables and removing their rows
+            synchronized (islandDataLock) {
+                for (Integer islandId : evictedIslands) {
+                    loadedIslandData.remove(islandId);
+                    islandDataAccessTimes.remove(islandId);
+                    getIslandById(islandId).ifPresent(island -> {
+                        island.getPermissionTable().clear();
+                        island.getValuableBlockTable().clear();
+                    });
+                }
+                islandPermissionList.removeIf(islandPermission -> evictedIslands.contains(islandPermission.getIslandId()));
+                islandBlocksList.removeIf(islandBlock -> evictedIslands.contains(islandBlock.getIslandId()));
+                islandBankList.removeIf(islandBank -> evictedIslands.contains(islandBank.getIsland()));
+                islandMissionList.removeIf(islandMission -> evictedIslands.contains(islandMission.getIsland()));
+            }
+
+            userEvictions.add(removedUsers.size());
+            islandDataEvictions.add(evictedIslands.size());
+            IridiumSkyblock.getInstance().getLogger().info("Evicted " + removedUsers.size() + " users and the data of " + evictedIslands.size() + " islands from the cache. "
+                    + "Users: " + userHits.sum() + " hits, " + userMisses.sum() + " misses, " + userEvictions.sum() + " evictions. "
+                    + "Islands: " + islandDataHits.sum() + " hits, " + islandDataMisses.sum() + " misses, " + islandDataEvictions.sum() + " evictions.");
+        }));
+    }
+
+    /**
+     * Adds a new IslandInvite.
+     * It will be created in the database on the next save.
+     *
+     * @param islandInvite The IslandInvite which should be added
+     */
+    public void addIslandInvite(@NotNull IslandInvite islandInvite) {
+        islandInviteList.add(islandInvite);
+        addToIslandInviteIndex(islandInvite);
+    }
+
+    /**
+     * Adds an Island to the id, name and island grid indexes.
+     *
+     * @param island The Island which should be indexed
+     */
+    private void addToIslandIndex(@NotNull Island island) {
+        islandIdIndex.put(island.getId(), island);
+        islandNameIndex.put(island.getName().toLowerCase(), island);
+
+        islandGrid.put(island.getPosition(), island);
+    }
+
+    /**
+     * Removes an Island from the id, name and island grid indexes.
+     *
+     * @param island The Island which should be removed
+     */
+    private void removeFromIslandIndex(@NotNull Island island) {
+        islandIdIndex.remove(island.getId(), island);
+        islandNameIndex.remove(island.getName().toLowerCase(), island);
+
+        islandGrid.remove(island.getPosition(), island);
+    }
+
+    /**
+     * Adds a User to the member index of his Island.
+     * Has to be called after the Island or IslandRank of the User changed.
+     *
+     * @param user The User which should be indexed
+     */
+    public void addToIslandMemberIndex(@NotNull User user) {
+        Integer islandId = user.getIslandId();
+        if (islandId == null) return;
+
+        islandMemberIndex.computeIfAbsent(islandId, id -> ConcurrentHashMap.newKeySet()).add(user);
+        if (user.getIslandRank() == IslandRank.OWNER) {
+            islandOwnerIndex.put(islandId, user);
         }
     }
 
     /**
-     * Saves all island blocks to the database.
-     * Creates them if they don't exist.
+     * Removes a User from the member index of his Island.
+     * Has to be called before the Island or IslandRank of the User changes.
+     *
+     * @param user The User which should be removed
+     */
+    public void removeFromIslandMemberIndex(@NotNull User user) {
+        Integer islandId = user.getIslandId();
+        if (islandId == null) return;
+
+        Set<User> members = islandMemberIndex.get(islandId);
+        if (members != null) members.remove(user);
+        islandOwnerIndex.remove(islandId, user);
+    }
+
+    /**
+     * Adds a new IslandPermission and applies it to the PermissionTable of its Island.
+     * It will be created in the database on the next save.
+     *
+     * @param islandPermission The IslandPermission which should be added
+     */
+    public void addIslandPermission(@NotNull IslandPermission islandPermission) {
+        islandPermissionList.add(islandPermission);
+        addToPermissionTable(islandPermission);
+    }
+
+    /**
+     * Applies an IslandPermission to the PermissionTable of its Island.
+     * Permissions which no longer exist in the configuration are skipped.
+     *
+     * @param islandPermission The IslandPermission which should be applied
+     */
+    private void addToPermissionTable(@NotNull IslandPermission islandPermission) {
+        Optional<Island> island = getIslandById(islandPermission.getIslandId());
+        if (!island.isPresent()) return;
+
+        IridiumSkyblock.getInstance().getPermissionList().stream()
+                .filter(permission -> permission.getName().equalsIgnoreCase(islandPermission.getPermission()))
+                .findFirst()
+                .ifPresent(permission -> island.get().getPermissionTable().addIslandPermission(permission, islandPermission));
+    }
+
+    /**
+     * Applies an IslandBlocks row to the ValuableBlockTable of its Island.
+     * Blocks which are no longer valuable are skipped.
+     *
+     * @param islandBlocks The IslandBlocks which should be applied
+     */
+    private void addToValuableBlockTable(@NotNull IslandBlocks islandBlocks) {
+        int index = IridiumSkyblock.getInstance().getValuableBlockIndex(islandBlocks.getMaterial());
+        if (index < 0) return;
+
+        getIslandById(islandBlocks.getIslandId()).ifPresent(island -> {
+            // The valuable blocks might have been reloaded while the data of the Island wasn't loaded
+            island.getValuableBlockTable().remap();
+            island.getValuableBlockTable().addIslandBlocks(index, islandBlocks);
+        });
+    }
+
+    /**
+     * Adds an IslandInvite to the index of its invited User.
+     *
+     * @param islandInvite The IslandInvite which should be indexed
+     */
+    private void addToIslandInviteIndex(@NotNull IslandInvite islandInvite) {
+        islandInviteIndex.computeIfAbsent(islandInvite.getUserUuid(), uuid -> new CopyOnWriteArrayList<>()).add(islandInvite);
+    }
+
+    /**
+     * Runs a task on the database writer thread.
+     * Tasks are executed one after another in the order they have been submitted.
+     *
+     * @param task The task which should be executed
+     * @return A CompletableFuture which completes after the task has been executed
+     */
+    public @NotNull CompletableFuture<Void> runAsync(@NotNull Runnable task) {
+        return supplyAsync(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a task on the database writer thread and returns its result.
+     * Tasks are executed one after another in the order they have been submitted.
+     * Other threads than the main thread wait if too many of their tasks are pending.
+     * The CompletableFuture fails if the database has already been shut down.
+     *
+     * @param task The task which should be executed
+     * @param <T>  The type of the result
+     * @return A CompletableFuture with the result of the task
      */
-    public void saveIslandBlocks() {
+    public <T> @NotNull CompletableFuture<T> supplyAsync(@NotNull Supplier<T> task) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        // The writer itself can't wait for permits, it is the one releasing them
+        boolean throttled = !Bukkit.isPrimaryThread() && Thread.currentThread() != writerThread;
         try {
-            for (IslandBlocks islandBlocks : islandBlocksList) {
-                islandblocksDao.createOrUpdate(islandBlocks);
-            }
-            islandblocksDao.commit(getDatabaseConnection());
-        } catch (SQLException exception) {
-            exception.printStackTrace();
+            if (throttled) writePermits.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            completableFuture.completeExceptionally(exception);
+            return completableFuture;
         }
+        try {
+            writeExecutor.execute(() -> {
+                try {
+                    completableFuture.complete(task.get());
+                } catch (Throwable throwable) {
+                    completableFuture.completeExceptionally(throwable);
+                } finally {
+                    if (throttled) writePermits.release();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            if (throttled) writePermits.release();
+            completableFuture.completeExceptionally(new IllegalStateException("The database has already been shut down", exception));
+        }
+        completableFuture.exceptionally(throwable -> {
+            throwable.printStackTrace();
+            return null;
+        });
+        return completableFuture;
     }
 
     /**
-     * Saves all Island bank items to the database.
-     * Creates them if they don't exist.
+     * Runs a query on a database reader thread.
+     * Readers use their own connection, so they never wait for the writes.
+     * Only changes which have already been written are visible to them.
+     *
+     * @param task The task which should be executed
+     * @return A CompletableFuture which completes after the task has been executed
+     */
+    private @NotNull CompletableFuture<Void> runRead(@NotNull Runnable task) {
+        return supplyRead(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a query on a database reader thread and returns its result.
+     * The CompletableFuture fails if the database has already been shut down.
+     *
+     * @param task The task which should be executed
+     * @param <T>  The type of the result
+     * @return A CompletableFuture with the result of the task
+     */
+    private <T> @NotNull CompletableFuture<T> supplyRead(@NotNull Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, readExecutor);
+        } catch (RejectedExecutionException exception) {
+            CompletableFuture<T> completableFuture = new CompletableFuture<>();
+            completableFuture.completeExceptionally(new IllegalStateException("The database has already been shut down", exception));
+            return completableFuture;
+        }
+    }
+
+    /**
+     * Returns whether or not the current thread is a database reader thread.
+     *
+     * @return If this is a reader thread
+     */
+    private boolean isReaderThread() {
+        return readerThreads.contains(Thread.currentThread());
+    }
+
+    /**
+     * Schedules a save of all changed data on the database writer thread.
+     * Does nothing if a save is already waiting, it will include all changes made until it runs.
+     */
+    public void saveAsync() {
+        if (savePending.compareAndSet(false, true)) {
+            runAsync(() -> {
+                savePending.set(false);
+                save();
+            });
+        }
+    }
+
+    /**
+     * Saves all changed data and waits for all pending writes.
+     * No more tasks are accepted afterwards, this has to be called when the plugin is disabled.
      */
-    public void saveIslandBank() {
+    public void shutdown() {
+        readExecutor.shutdownNow();
+        runAsync(this::save);
+        writeExecutor.shutdown();
         try {
-            for (IslandBank islandBank : islandBankList) {
-                islandBankDao.createOrUpdate(islandBank);
+            if (!writeExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                IridiumSkyblock.getInstance().getLogger().warning("Timed out while waiting for the database writes to finish");
             }
-            islandBankDao.commit(getDatabaseConnection());
-        } catch (SQLException exception) {
+        } catch (InterruptedException exception) {
             exception.printStackTrace();
+            Thread.currentThread().interrupt();
         }
+        connectionSource.closeQuietly();
+        if (readConnectionSource != connectionSource) readConnectionSource.closeQuietly();
+    }
+
+    /**
+     * Saves all changed data to the database.
+     * Should only be called on the database writer thread.
+     */
+    private void save() {
+        long start = System.currentTimeMillis();
+        int savedRows = 0;
+        savedRows += saveIslands();
+        savedRows += saveUsers();
+        savedRows += saveIslandInvites();
+        savedRows += saveIslandPermissions();
+        savedRows += saveIslandBlocks();
+        savedRows += saveIslandBank();
+        savedRows += saveIslandMissions();
+        IridiumSkyblock.getInstance().getLogger().info("Saved " + savedRows + " changed rows in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Saves an island to the database and initializes variables like ID.
+     * Runs on the database writer thread.
+     *
+     * @param island The island we are saving
+     * @return A CompletableFuture with the island with variables like id added
+     */
+    public @NotNull CompletableFuture<Island> registerIsland(@NotNull Island island) {
+        return supplyAsync(() -> {
+            try {
+                Island is = callInTransaction(() -> {
+                    islandDao.createOrUpdate(island);
+                    return islandDao.queryBuilder().where().eq("name", island.getName()).queryForFirst();
+                });
+                is.setChanged(false);
+                // A new Island has nothing which could be loaded
+                loadedIslandMembers.add(is.getId());
+                loadedIslandData.add(is.getId());
+                if (sqlConfig.lazyLoading) islandDataAccessTimes.put(is.getId(), System.currentTimeMillis());
+                islandList.add(is);
+                addToIslandIndex(is);
+                return is;
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+            return island;
+        });
+    }
+
+    /**
+     * Saves all changed users to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
+     */
+    public int saveUsers() {
+        return saveChanged(userUpsert, userList);
+    }
+
+    /**
+     * Saves all changed Islands to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
+     */
+    public int saveIslands() {
+        return saveChanged(islandUpsert, islandList);
+    }
+
+    /**
+     * Saves all changed Island invites to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
+     */
+    public int saveIslandInvites() {
+        return saveChanged(islandInviteUpsert, islandInviteList);
+    }
+
+    /**
+     * Saves all changed Island permissions to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
+     */
+    public int saveIslandPermissions() {
+        return saveChanged(islandPermissionUpsert, islandPermissionList);
     }
 
     /**
-     * Saves all Island missions to the database.
+     * Saves all schematics to the database.
      * Creates them if they don't exist.
      */
-    public void saveIslandMissions() {
+    public void saveSchematics() {
         try {
-            for (IslandMission islandMission : islandMissionList) {
-                islandMissionDao.createOrUpdate(islandMission);
-            }
-            islandMissionDao.commit(getDatabaseConnection());
+            callInTransaction(() -> {
+                for (SchematicData schematic : schematicDataList) {
+                    schematicDao.createOrUpdate(schematic);
+                }
+                return null;
+            });
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
     }
 
     /**
-     * Deletes all daily missions saved in the database
+     * Saves all changed island blocks to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
      */
-    public void deleteDailyMissions() {
+    public int saveIslandBlocks() {
+        islandList.forEach(this::updateIslandBlocks);
+
+        return saveChanged(islandBlocksUpsert, islandBlocksList);
+    }
+
+    /**
+     * Writes the amounts of the valuable blocks of an Island into its database rows and adds the newly created rows.
+     *
+     * @param island The specified Island
+     */
+    private void updateIslandBlocks(@NotNull Island island) {
+        synchronized (islandDataLock) {
+            islandBlocksList.addAll(island.getValuableBlockTable().updateIslandBlocks(island));
+        }
+    }
+
+    /**
+     * Saves all changed Island bank items to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
+     */
+    public int saveIslandBank() {
+        return saveChanged(islandBankUpsert, islandBankList);
+    }
+
+    /**
+     * Saves all changed Island missions to the database.
+     * Creates them if they don't exist.
+     *
+     * @return The amount of rows which have been written
+     */
+    public int saveIslandMissions() {
+        return saveChanged(islandMissionUpsert, islandMissionList);
+    }
+
+    /**
+     * Writes all changed objects of a list to the database in a single transaction.
+     * Objects are marked as saved before they are written, so changes made during the save are not lost.
+     * Rows are written with batched native upserts if the database supports them,
+     * new rows with a generated id are still created by ORMLite so they get their id.
+     *
+     * @param batchUpsert     The BatchUpsert of the table
+     * @param databaseObjects The objects which should be saved
+     * @return The amount of rows which have been written
+     */
+    private <T extends DatabaseObject> int saveChanged(@NotNull BatchUpsert<T> batchUpsert, @NotNull Collection<T> databaseObjects) {
+        List<T> changed = new ArrayList<>();
+        for (T databaseObject : databaseObjects) {
+            if (!databaseObject.isChanged()) continue;
+            databaseObject.setChanged(false);
+            changed.add(databaseObject);
+        }
+        if (changed.isEmpty()) return 0;
+
+        Dao<T, ?> dao = batchUpsert.getDao();
         try {
-            List<IslandMission> islandMissions = getIslandMissionList().stream().filter(islandMission -> islandMission.getType() == Mission.MissionType.DAILY).collect(Collectors.toList());
-            islandMissionDao.delete(islandMissions);
-            islandMissionDao.commit(getDatabaseConnection());
-            islandMissions.forEach(islandMissionList::remove);
+            return callInTransaction(() -> {
+                List<T> upserts = new ArrayList<>();
+                for (T databaseObject : changed) {
+                    if (batchUpsert.isSupported() && batchUpsert.canUpsert(databaseObject)) {
+                        upserts.add(databaseObject);
+                    } else {
+                        dao.createOrUpdate(databaseObject);
+                    }
+                }
+                if (!upserts.isEmpty()) {
+                    // This is the connection of the transaction
+                    DatabaseConnection databaseConnection = connectionSource.getReadWriteConnection(dao.getTableName());
+                    try {
+                        batchUpsert.execute(((JdbcDatabaseConnection) databaseConnection).getInternalConnection(), upserts, sqlConfig.batchSize);
+                    } finally {
+                        connectionSource.releaseConnection(databaseConnection);
+                    }
+                }
+                return changed.size();
+            });
         } catch (SQLException exception) {
             exception.printStackTrace();
+            changed.forEach(databaseObject -> databaseObject.setChanged(true));
         }
+        return 0;
     }
 
     /**
-     * Removes an island and all references to the island from the database.
+     * Deletes all daily missions.
+     * They are removed from the database on the database writer thread,
+     * including the ones of Islands which have not been loaded.
+     */
+    public void deleteDailyMissions() {
+        Set<IslandMission> islandMissions = islandMissionList.stream().filter(islandMission -> islandMission.getType() == Mission.MissionType.DAILY).collect(Collectors.toSet());
+        islandMissionList.removeAll(islandMissions);
+        runAsync(() -> {
+            try {
+                callInTransaction(() -> {
+                    DeleteBuilder<IslandMission, Integer> deleteBuilder = islandMissionDao.deleteBuilder();
+                    deleteBuilder.where().eq("type", Mission.MissionType.DAILY);
+                    return deleteBuilder.delete();
+                });
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Removes an island and all references to the island.
+     * It is removed from the database on the database writer thread.
      *
      * @param island The island being deleted.
      */
     public void deleteIsland(@NotNull Island island) {
-        try {
-            island.getMembers().forEach(user -> user.setIsland(null));
-            islandDao.delete(island);
-            islandList.remove(island);
-            islandDao.commit(getDatabaseConnection());
-            saveIslands();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
+        island.getMembers().forEach(user -> user.setIsland(null));
+        islandList.remove(island);
+        removeFromIslandIndex(island);
+        delete(islandDao, Collections.singletonList(island));
+    }
+
+    /**
+     * Adds an IslandSlot.
+     * It is saved to the database on the database writer thread.
+     *
+     * @param islandSlot The IslandSlot which should be added
+     */
+    public void addIslandSlot(@NotNull IslandSlot islandSlot) {
+        islandSlotList.add(islandSlot);
+        saveIslandSlot(islandSlot);
+    }
+
+    /**
+     * Saves an IslandSlot after it changed.
+     * It is saved to the database on the database writer thread.
+     *
+     * @param islandSlot The IslandSlot which should be saved
+     */
+    public void saveIslandSlot(@NotNull IslandSlot islandSlot) {
+        runAsync(() -> {
+            try {
+                islandSlotDao.createOrUpdate(islandSlot);
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Removes an IslandSlot.
+     * It is removed from the database on the database writer thread.
+     *
+     * @param islandSlot The IslandSlot which should be removed
+     */
+    public void deleteIslandSlot(@NotNull IslandSlot islandSlot) {
+        islandSlotList.remove(islandSlot);
+        delete(islandSlotDao, Collections.singletonList(islandSlot));
     }
 
     /**
-     * Removes an IslandInvite from the database.
+     * Adds a FreeIslandPosition.
+     * It is saved to the database on the database writer thread.
+     *
+     * @param freeIslandPosition The FreeIslandPosition which should be added
+     */
+    public void addFreeIslandPosition(@NotNull FreeIslandPosition freeIslandPosition) {
+        freeIslandPositionList.add(freeIslandPosition);
+        saveFreeIslandPosition(freeIslandPosition);
+    }
+
+    /**
+     * Saves a FreeIslandPosition after it changed.
+     * It is saved to the database on the database writer thread.
+     *
+     * @param freeIslandPosition The FreeIslandPosition which should be saved
+     */
+    public void saveFreeIslandPosition(@NotNull FreeIslandPosition freeIslandPosition) {
+        runAsync(() -> {
+            try {
+                freeIslandPositionDao.createOrUpdate(freeIslandPosition);
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Removes a FreeIslandPosition.
+     * It is removed from the database on the database writer thread.
+     *
+     * @param freeIslandPosition The FreeIslandPosition which should be removed
+     */
+    public void deleteFreeIslandPosition(@NotNull FreeIslandPosition freeIslandPosition) {
+        freeIslandPositionList.remove(freeIslandPosition);
+        delete(freeIslandPositionDao, Collections.singletonList(freeIslandPosition));
+    }
+
+    /**
+     * Removes an IslandInvite.
+     * It is removed from the database on the database writer thread.
      *
      * @param islandInvite The island Invite being deleted
      */
     public void deleteInvite(@NotNull IslandInvite islandInvite) {
-        try {
-            islandInviteDao.delete(islandInvite);
-            islandInviteList.remove(islandInvite);
-            islandInviteDao.commit(getDatabaseConnection());
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
+        islandInviteList.remove(islandInvite);
+        List<IslandInvite> islandInvites = islandInviteIndex.get(islandInvite.getUserUuid());
+        if (islandInvites != null) islandInvites.remove(islandInvite);
+        delete(islandInviteDao, Collections.singletonList(islandInvite));
+    }
+
+    /**
+     * Deletes rows from the database on the database writer thread.
+     *
+     * @param dao  The DAO of the table
+     * @param rows The rows which should be deleted
+     */
+    private <T> void delete(@NotNull Dao<T, ?> dao, @NotNull Collection<T> rows) {
+        if (rows.isEmpty()) return;
+        runAsync(() -> {
+            try {
+                callInTransaction(() -> dao.delete(rows));
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+        });
     }
 
 }
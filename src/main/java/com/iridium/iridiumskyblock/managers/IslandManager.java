@@ -1,7 +1,9 @@
 package com.iridium.iridiumskyblock.managers;
 
 import com.cryptomorin.xseries.XMaterial;
+import com.iridium.iridiumskyblock.ChunkValueTable;
 import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.IslandLeaderboard;
 import com.iridium.iridiumskyblock.IslandRank;
 import com.iridium.iridiumskyblock.Mission;
 import com.iridium.iridiumskyblock.Permission;
@@ -9,6 +11,7 @@ import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
 import com.iridium.iridiumskyblock.bank.BankItem;
 import com.iridium.iridiumskyblock.configs.Schematics;
 import com.iridium.iridiumskyblock.database.*;
+import com.iridium.iridiumskyblock.utils.GridUtils;
 import com.iridium.iridiumskyblock.utils.PlayerUtils;
 import com.iridium.iridiumskyblock.utils.StringUtils;
 import io.papermc.lib.PaperLib;
@@ -18,6 +21,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +29,16 @@ import java.util.stream.Collectors;
  */
 public class IslandManager {
 
+    private final IslandLeaderboard leaderboard = new IslandLeaderboard();
+
+    /**
+     * Ranks all loaded Islands by their value.
+     * Has to be called after the data has been loaded.
+     */
+    public void loadLeaderboard() {
+        IridiumSkyblock.getInstance().getDatabaseManager().getIslandList().forEach(leaderboard::update);
+    }
+
     /**
      * Creates a new world using the current skyblock generator.
      *
@@ -47,8 +61,8 @@ public class IslandManager {
      * @return The invite of the user to this island, might be empty
      */
     public Optional<IslandInvite> getIslandInvite(@NotNull Island island, @NotNull User user) {
-        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandInviteList().stream()
-                .filter(islandInvite -> islandInvite.getUser().equals(user) && island.equals(islandInvite.getIsland().orElse(null)))
+        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandInvites(user.getUuid()).stream()
+                .filter(islandInvite -> island.equals(islandInvite.getIsland().orElse(null)))
                 .findFirst();
     }
 
@@ -103,19 +117,26 @@ public class IslandManager {
      */
     private @NotNull CompletableFuture<Island> createIsland(@NotNull Player player, @NotNull String name, @NotNull Schematics.SchematicConfig schematic) {
         CompletableFuture<Island> completableFuture = new CompletableFuture<>();
-        Bukkit.getScheduler().runTaskAsynchronously(IridiumSkyblock.getInstance(), () -> {
-            final User user = IridiumSkyblockAPI.getInstance().getUser(player);
-            final Island island = IridiumSkyblock.getInstance().getDatabaseManager().registerIsland(new Island(name, schematic));
-            user.setIsland(island);
-            user.setIslandRank(IslandRank.OWNER);
-
-            // Paste schematic and then teleport the player (this needs to be done sync)
-            Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () ->
-                    IridiumSkyblock.getInstance().getSchematicManager()
-                            .pasteSchematic(island, IridiumSkyblockAPI.getInstance().getWorld(), schematic.overworld.schematicID, IridiumSkyblock.getInstance().getConfiguration().schematicPastingDelay)
-                            .thenRun(() -> completableFuture.complete(island))
-            );
-        });
+        // Claim a position where the schematic has already been pasted if there is one
+        OptionalInt slot = IridiumSkyblock.getInstance().getIslandPoolManager().claimSlot(schematic.overworld.schematicID);
+        Island newIsland = new Island(name, schematic);
+        newIsland.setPosition(slot.orElseGet(IridiumSkyblock.getInstance().getIslandPositionManager()::allocatePosition));
+        IridiumSkyblock.getInstance().getDatabaseManager().registerIsland(newIsland).thenAccept(island ->
+                // Paste schematic and then teleport the player (this needs to be done sync)
+                Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> {
+                    final User user = IridiumSkyblockAPI.getInstance().getUser(player);
+                    leaderboard.update(island);
+                    user.setIsland(island);
+                    user.setIslandRank(IslandRank.OWNER);
+
+                    CompletableFuture<Void> paste = slot.isPresent() ? CompletableFuture.completedFuture(null) : IridiumSkyblock.getInstance().getSchematicManager()
+                            .pasteSchematic(island, IridiumSkyblockAPI.getInstance().getWorld(), schematic.overworld.schematicID, WorkManager.Priority.HIGH);
+                    paste.thenRun(() -> {
+                        IridiumSkyblock.getInstance().getRecalculationManager().request(island);
+                        completableFuture.complete(island);
+                    });
+                })
+        );
         return completableFuture;
     }
 
@@ -126,8 +147,8 @@ public class IslandManager {
      * @param schematicID The ID of the schematic we are pasting
      */
     public void regenerateIsland(@NotNull Island island, @NotNull String schematicID) {
-        deleteIslandBlocks(island, IridiumSkyblockAPI.getInstance().getWorld(), 0).thenRun(() ->
-                IridiumSkyblock.getInstance().getSchematicManager().pasteSchematic(island, IridiumSkyblockAPI.getInstance().getWorld(), schematicID, 0)
+        deleteIslandBlocks(island, IridiumSkyblockAPI.getInstance().getWorld(), WorkManager.Priority.HIGH).thenRun(() ->
+                IridiumSkyblock.getInstance().getSchematicManager().pasteSchematic(island, IridiumSkyblockAPI.getInstance().getWorld(), schematicID, WorkManager.Priority.HIGH)
         );
     }
 
@@ -135,39 +156,219 @@ public class IslandManager {
      * Deletes all blocks in an island.
      *
      * @param island The specified Island
-     * @param world  The world we are deleting
-     * @param delay  The delay between deleting each layer
+     * @param world    The world we are deleting
+     * @param priority The priority of the deletion job
+     * @return A completableFuture for when its finished deleting the blocks
+     */
+    public CompletableFuture<Void> deleteIslandBlocks(@NotNull Island island, @NotNull World world, @NotNull WorkManager.Priority priority) {
+        // The blocks are replaced, so all chunks have to be scanned again
+        island.getChunkValueTable().clear();
+        island.setLastFullScan(0);
+        return clearPosition(island.getPosition(), world, priority);
+    }
+
+    /**
+     * Deletes all blocks at a position on the island grid.
+     * With region aligned islands the region files are deleted if none of their chunks are in use.
+     * Paper reads and writes region files on its own IO thread, so they are always cleared chunk by chunk there.
+     *
+     * @param position The position on the island grid
+     * @param world    The world we are deleting
+     * @param priority The priority of the deletion job
      * @return A completableFuture for when its finished deleting the blocks
      */
-    public CompletableFuture<Void> deleteIslandBlocks(@NotNull Island island, @NotNull World world, int delay) {
+    public CompletableFuture<Void> clearPosition(int position, @NotNull World world, @NotNull WorkManager.Priority priority) {
+        if (IridiumSkyblock.getInstance().getConfiguration().regionAlignedIslands && !PaperLib.isPaper()) {
+            return resetRegions(position, world, priority);
+        }
+        return clearChunks(position, world, priority);
+    }
+
+    /**
+     * Deletes all blocks at a position on the island grid chunk by chunk.
+     * Chunks which have never been generated are skipped, they are still empty and loading them would generate them.
+     *
+     * @param position The position on the island grid
+     * @param world    The world we are deleting
+     * @param priority The priority of the deletion job
+     * @return A completableFuture for when its finished deleting the blocks
+     */
+    private CompletableFuture<Void> clearChunks(int position, @NotNull World world, @NotNull WorkManager.Priority priority) {
+        double size = (IridiumSkyblock.getInstance().getConfiguration().distance - 1) / 2.00;
+        Location center = getCenter(world, position);
+        Location pos1 = center.clone().subtract(size, 0, size);
+        Location pos2 = center.clone().add(size, 0, size);
+        int minChunkX = pos1.getBlockX() >> 4;
+        int minChunkZ = pos1.getBlockZ() >> 4;
+        int chunksX = (pos2.getBlockX() >> 4) - minChunkX + 1;
+        int chunksZ = (pos2.getBlockZ() >> 4) - minChunkZ + 1;
+
+        // Every step clears one chunk
+        return IridiumSkyblock.getInstance().getWorkManager().submit(priority, chunksX * chunksZ, step -> {
+            int chunkX = minChunkX + step / chunksZ;
+            int chunkZ = minChunkZ + step % chunksZ;
+            if (!world.isChunkGenerated(chunkX, chunkZ)) return;
+            IridiumSkyblock.getInstance().getNms().clearChunk(world, chunkX, chunkZ, pos1.getBlockX(), pos1.getBlockZ(), pos2.getBlockX(), pos2.getBlockZ());
+        }).getCompletableFuture();
+    }
+
+    /**
+     * Resets the region files of a region aligned island.
+     * The chunks are unloaded without saving and the region files are deleted off the main thread,
+     * so the chunks are generated empty again the next time they are loaded.
+     * Falls back to clearing the chunks if a chunk can't be unloaded or is loaded again while the files are deleted.
+     *
+     * @param position The position on the island grid
+     * @param world    The world we are deleting
+     * @param priority The priority of the fallback deletion job
+     * @return A completableFuture for when its finished deleting the blocks, completed on the main thread
+     */
+    private CompletableFuture<Void> resetRegions(int position, @NotNull World world, @NotNull WorkManager.Priority priority) {
+        int spacing = getIslandSpacing();
+        int minRegionX = (GridUtils.getGridX(position) * spacing) >> 9;
+        int minRegionZ = (GridUtils.getGridZ(position) * spacing) >> 9;
+        int regions = spacing >> 9;
+
+        // Players nearby keep chunks loaded, they can't be unloaded
+        if (!unloadChunks(world, minRegionX << 5, minRegionZ << 5, regions << 5, true)) {
+            return clearChunks(position, world, priority);
+        }
+
         CompletableFuture<Void> completableFuture = new CompletableFuture<>();
-        deleteIslandBlocks(island, world, world.getMaxHeight() - 1, completableFuture, delay);
+        Bukkit.getScheduler().runTaskAsynchronously(IridiumSkyblock.getInstance(), () -> {
+            boolean deleted = true;
+            for (int regionX = minRegionX; regionX < minRegionX + regions; regionX++) {
+                for (int regionZ = minRegionZ; regionZ < minRegionZ + regions; regionZ++) {
+                    deleted &= IridiumSkyblock.getInstance().getNms().deleteRegionFiles(world, regionX, regionZ);
+                }
+            }
+            boolean regionsDeleted = deleted;
+            Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> {
+                // Chunks which have been loaded again in the meantime still contain the old blocks
+                if (regionsDeleted && unloadChunks(world, minRegionX << 5, minRegionZ << 5, regions << 5, false)) {
+                    completableFuture.complete(null);
+                    return;
+                }
+                clearChunks(position, world, priority).whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        completableFuture.completeExceptionally(throwable);
+                    } else {
+                        completableFuture.complete(null);
+                    }
+                });
+            });
+        });
         return completableFuture;
     }
 
     /**
-     * Gets all chunks the island is in.
+     * Checks whether none of the chunks in a square are loaded and optionally unloads them without saving.
+     *
+     * @param world     The world of the chunks
+     * @param minChunkX The x position of the first chunk
+     * @param minChunkZ The z position of the first chunk
+     * @param chunks    The amount of chunks along each axis
+     * @param unload    Whether or not loaded chunks should be unloaded
+     * @return If none of the chunks are loaded anymore
+     */
+    private boolean unloadChunks(@NotNull World world, int minChunkX, int minChunkZ, int chunks, boolean unload) {
+        for (int x = minChunkX; x < minChunkX + chunks; x++) {
+            for (int z = minChunkZ; z < minChunkZ + chunks; z++) {
+                if (!world.isChunkLoaded(x, z)) continue;
+                if (!unload || !world.unloadChunk(x, z, false)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distance between the centers of two islands next to each other.
+     * Rounded up to a multiple of the region size if islands are aligned to region files.
+     *
+     * @return The distance between islands
+     */
+    public int getIslandSpacing() {
+        int distance = IridiumSkyblock.getInstance().getConfiguration().distance;
+        if (!IridiumSkyblock.getInstance().getConfiguration().regionAlignedIslands) return distance;
+        return (distance + 511) / 512 * 512;
+    }
+
+    /**
+     * Returns the center of the island at a position on the island grid.
+     *
+     * @param world    The world of the island
+     * @param position The position on the island grid
+     * @return The center Location
+     */
+    public Location getCenter(@NotNull World world, int position) {
+        return new Location(world, getCenterX(position), 0, getCenterZ(position));
+    }
+
+    /**
+     * Returns the x coordinate of the center of the island at a position on the island grid.
+     *
+     * @param position The position on the island grid
+     * @return The x coordinate of the center
+     */
+    public double getCenterX(int position) {
+        if (IridiumSkyblock.getInstance().getConfiguration().regionAlignedIslands) {
+            return GridUtils.getRegionAlignedCenter(GridUtils.getGridX(position), getIslandSpacing());
+        }
+        return GridUtils.getCenterX(position, IridiumSkyblock.getInstance().getConfiguration().distance);
+    }
+
+    /**
+     * Returns the z coordinate of the center of the island at a position on the island grid.
+     *
+     * @param position The position on the island grid
+     * @return The z coordinate of the center
+     */
+    public double getCenterZ(int position) {
+        if (IridiumSkyblock.getInstance().getConfiguration().regionAlignedIslands) {
+            return GridUtils.getRegionAlignedCenter(GridUtils.getGridZ(position), getIslandSpacing());
+        }
+        return GridUtils.getCenterZ(position, IridiumSkyblock.getInstance().getConfiguration().distance);
+    }
+
+    /**
+     * Gets the keys of all chunks the island is in.
      *
      * @param island The specified Island
      * @param world  The world
-     * @return A list of Chunks the island is in
+     * @return A list of the keys of the chunks the island is in
+     * @see ChunkValueTable#getChunkKey(int, int)
      */
-    private CompletableFuture<List<Chunk>> getIslandChunks(@NotNull Island island, @NotNull World world) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+    private List<Long> getIslandChunkKeys(@NotNull Island island, @NotNull World world) {
+        List<Long> chunkKeys = new ArrayList<>();
 
-            int minX = island.getPos1(world).getChunk().getX();
-            int minZ = island.getPos1(world).getChunk().getZ();
-            int maxX = island.getPos2(world).getChunk().getX();
-            int maxZ = island.getPos2(world).getChunk().getZ();
+        int minX = island.getPos1(world).getBlockX() >> 4;
+        int minZ = island.getPos1(world).getBlockZ() >> 4;
+        int maxX = island.getPos2(world).getBlockX() >> 4;
+        int maxZ = island.getPos2(world).getBlockZ() >> 4;
 
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    chunks.add(PaperLib.getChunkAtAsyncUrgently(world, x, z, true));
-                }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                chunkKeys.add(ChunkValueTable.getChunkKey(x, z));
             }
-            return chunks.stream().map(CompletableFuture::join).collect(Collectors.toList());
-        });
+        }
+        return chunkKeys;
+    }
+
+    /**
+     * Loads the specified chunks.
+     *
+     * @param world     The world
+     * @param chunkKeys The keys of the chunks
+     * @return A list of the loaded Chunks
+     * @see ChunkValueTable#getChunkKey(int, int)
+     */
+    private CompletableFuture<List<Chunk>> getChunks(@NotNull World world, @NotNull List<Long> chunkKeys) {
+        return CompletableFuture.supplyAsync(() -> chunkKeys.stream()
+                .map(chunkKey -> PaperLib.getChunkAtAsyncUrgently(world, ChunkValueTable.getChunkX(chunkKey), ChunkValueTable.getChunkZ(chunkKey), true))
+                .collect(Collectors.toList()).stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList())
+        );
     }
 
     /**
@@ -177,7 +378,7 @@ public class IslandManager {
      * @return A list of users
      */
     public @NotNull List<User> getIslandMembers(@NotNull Island island) {
-        return IridiumSkyblock.getInstance().getDatabaseManager().getUserList().stream().filter(user -> island.equals(user.getIsland().orElse(null))).collect(Collectors.toList());
+        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandMembers(island.getId());
     }
 
     /**
@@ -197,7 +398,7 @@ public class IslandManager {
      * @return An Optional with the Island, empty if there is none
      */
     public Optional<Island> getIslandById(int id) {
-        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandList().stream().filter(island -> island.getId() == id).findFirst();
+        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandById(id);
     }
 
     /**
@@ -207,7 +408,7 @@ public class IslandManager {
      * @return An Optional with the Island, empty if there is none
      */
     public Optional<Island> getIslandByName(String name) {
-        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandList().stream().filter(island -> island.getName().equalsIgnoreCase(name)).findFirst();
+        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandByName(name);
     }
 
     /**
@@ -218,7 +419,29 @@ public class IslandManager {
      */
     public @NotNull Optional<Island> getIslandViaLocation(@NotNull Location location) {
         if (!Objects.equals(location.getWorld(), IridiumSkyblockAPI.getInstance().getWorld())) return Optional.empty();
-        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandList().stream().filter(island -> island.isInIsland(location)).findFirst();
+        return getIslandViaLocation(location.getBlockX(), location.getBlockZ());
+    }
+
+    /**
+     * Gets an {@link Island} from the provided x and z coordinates in the island world.
+     * Inverts the island grid instead of checking every Island.
+     *
+     * @param x The x coordinate
+     * @param z The z coordinate
+     * @return Optional of the island at the coordinates, empty if there is none
+     */
+    public @NotNull Optional<Island> getIslandViaLocation(int x, int z) {
+        int position;
+        if (IridiumSkyblock.getInstance().getConfiguration().regionAlignedIslands) {
+            int spacing = getIslandSpacing();
+            position = GridUtils.getPosition(GridUtils.getRegionAlignedGridCoordinate(x, spacing), GridUtils.getRegionAlignedGridCoordinate(z, spacing));
+        } else {
+            int distance = IridiumSkyblock.getInstance().getConfiguration().distance;
+            position = GridUtils.getPosition(GridUtils.getGridCoordinate(x, distance), GridUtils.getGridCoordinate(z, distance));
+        }
+        Optional<Island> island = IridiumSkyblock.getInstance().getDatabaseManager().getIslandByPosition(position);
+        if (island.isPresent() && !island.get().isInIsland(x, z)) return Optional.empty();
+        return island;
     }
 
     /**
@@ -230,8 +453,8 @@ public class IslandManager {
      * @return If the permission is allowed
      */
     public boolean getIslandPermission(@NotNull Island island, @NotNull IslandRank islandRank, @NotNull Permission permission) {
-        Optional<IslandPermission> islandPermission = IridiumSkyblock.getInstance().getDatabaseManager().getIslandPermissionList().stream().filter(isPermission -> isPermission.getPermission().equalsIgnoreCase(permission.getName()) && isPermission.getRank().equals(islandRank) && island.equals(isPermission.getIsland().orElse(null))).findFirst();
-        return islandPermission.map(IslandPermission::isAllowed).orElseGet(() -> islandRank.getLevel() >= permission.getDefaultRank().getLevel());
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
+        return island.getPermissionTable().isAllowed(islandRank, permission);
     }
 
     /**
@@ -255,6 +478,7 @@ public class IslandManager {
      * @return the IslandBank
      */
     public IslandBank getIslandBank(@NotNull Island island, @NotNull BankItem bankItem) {
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
         Optional<IslandBank> optionalIslandBank = IridiumSkyblock.getInstance().getDatabaseManager().getIslandBankList().stream().filter(islandBank -> islandBank.getIsland() == island.getId() && islandBank.getBankItem().equalsIgnoreCase(bankItem.getName())).findFirst();
         if (optionalIslandBank.isPresent()) {
             return optionalIslandBank.get();
@@ -266,63 +490,90 @@ public class IslandManager {
     }
 
     /**
-     * Gets the IslandBlock for a specific island and material.
+     * Gets the amount of a valuable block on a specific island.
      *
      * @param island   The specified Island
      * @param material The specified Material
-     * @return The IslandBlock
+     * @return The amount of this block, 0 if it isn't valuable
      */
-    public Optional<IslandBlocks> getIslandBlock(@NotNull Island island, @NotNull XMaterial material) {
-        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandBlocksList().stream().filter(islandBlocks -> material.equals(islandBlocks.getMaterial()) && island.equals(islandBlocks.getIsland().orElse(null))).findFirst();
+    public int getIslandBlockAmount(@NotNull Island island, @NotNull XMaterial material) {
+        int index = IridiumSkyblock.getInstance().getValuableBlockIndex(material);
+        if (index < 0) return 0;
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
+        return island.getValuableBlockTable().getAmount(index);
     }
 
     /**
-     * Sets whether a permission is allowed or denied for the specified IslandRank.
+     * Changes the amount of a valuable block on a specific island and updates the island value.
+     * Does nothing if the block isn't valuable.
      *
-     * @param island     The specified Island
-     * @param islandRank The specified Rank
-     * @param permission The specified Permission
-     * @param allowed    If the permission is allowed
+     * @param island   The specified Island
+     * @param material The specified Material
+     * @param amount   The amount which should be added, negative to remove blocks
      */
-    public void setIslandPermission(@NotNull Island island, @NotNull IslandRank islandRank, @NotNull Permission permission, boolean allowed) {
-        Optional<IslandPermission> islandPermission = IridiumSkyblock.getInstance().getDatabaseManager().getIslandPermissionList().stream().filter(isPermission -> isPermission.getPermission().equalsIgnoreCase(permission.getName()) && isPermission.getRank().equals(islandRank) && island.equals(isPermission.getIsland().orElse(null))).findFirst();
-        if (islandPermission.isPresent()) {
-            islandPermission.get().setAllowed(allowed);
-        } else {
-            IridiumSkyblock.getInstance().getDatabaseManager().getIslandPermissionList().add(new IslandPermission(island, permission.getName(), islandRank, allowed));
-        }
+    public void addIslandBlockAmount(@NotNull Island island, @NotNull XMaterial material, int amount) {
+        int index = IridiumSkyblock.getInstance().getValuableBlockIndex(material);
+        if (index < 0) return;
+        addIslandBlockAmount(island, index, amount);
     }
 
     /**
-     * Deletes all blocks in an Island.
-     * Starts at the top and works down to y = 0.
+     * Changes the amount of a valuable block on a specific island and updates the island value.
      *
-     * @param island            The specified Island
-     * @param world             The specified World
-     * @param y                 The current y level
-     * @param completableFuture The completable future to be completed when task is finished
-     * @param delay             The delay in ticks between each layer
+     * @param island The specified Island
+     * @param index  The index of the valuable block
+     * @param amount The amount which should be added, negative to remove blocks
      */
-    private void deleteIslandBlocks(@NotNull Island island, @NotNull World world, int y, CompletableFuture<Void> completableFuture, int delay) {
-        Location pos1 = island.getPos1(world);
-        Location pos2 = island.getPos2(world);
+    private void addIslandBlockAmount(@NotNull Island island, int index, int amount) {
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
+        int addedAmount = island.getValuableBlockTable().addAmount(index, amount);
+        setIslandValue(island, island.getValue() + addedAmount * IridiumSkyblock.getInstance().getValuableBlockValue(index));
+    }
 
-        for (int x = pos1.getBlockX(); x <= pos2.getBlockX(); x++) {
-            for (int z = pos1.getBlockZ(); z <= pos2.getBlockZ(); z++) {
-                if (world.getBlockAt(x, y, z).getType() != Material.AIR)
-                    IridiumSkyblock.getInstance().getNms().setBlockFast(world, x, y, z, 0, (byte) 0, false);
-            }
-        }
+    /**
+     * Sets the value of an island and updates its rank.
+     *
+     * @param island The specified Island
+     * @param value  The new value of the Island
+     */
+    public void setIslandValue(@NotNull Island island, double value) {
+        island.setValue(value);
+        leaderboard.update(island);
+    }
+
+    /**
+     * Compares the value of an island with a full recalculation of its valuable blocks.
+     * Logs a warning and fixes the value if they don't match.
+     *
+     * @param island The specified Island
+     * @return Whether or not the value was correct
+     */
+    public boolean verifyIslandValue(@NotNull Island island) {
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
+        double value = island.getValuableBlockTable().getValue();
+        if (Math.abs(island.getValue() - value) < 0.0001) return true;
+
+        IridiumSkyblock.getInstance().getLogger().warning("Island " + island.getId() + " has a value of " + island.getValue() + " but should have " + value);
+        setIslandValue(island, value);
+        return false;
+    }
 
-        if (y == 0) {
-            completableFuture.complete(null);
-            getIslandChunks(island, world).thenAccept(chunks -> chunks.forEach(chunk -> IridiumSkyblock.getInstance().getNms().sendChunk(world.getPlayers(), chunk)));
+    /**
+     * Sets whether a permission is allowed or denied for the specified IslandRank.
+     *
+     * @param island     The specified Island
+     * @param islandRank The specified Rank
+     * @param permission The specified Permission
+     * @param allowed    If the permission is allowed
+     */
+    public void setIslandPermission(@NotNull Island island, @NotNull IslandRank islandRank, @NotNull Permission permission, boolean allowed) {
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
+        IslandPermission islandPermission = island.getPermissionTable().getIslandPermission(islandRank, permission);
+        if (islandPermission != null) {
+            islandPermission.setAllowed(allowed);
+            island.getPermissionTable().setAllowed(islandRank, permission, allowed);
         } else {
-            if (delay < 1) {
-                deleteIslandBlocks(island, world, y - 1, completableFuture, delay);
-            } else {
-                Bukkit.getScheduler().runTaskLater(IridiumSkyblock.getInstance(), () -> deleteIslandBlocks(island, world, y - 1, completableFuture, delay), delay);
-            }
+            IridiumSkyblock.getInstance().getDatabaseManager().addIslandPermission(new IslandPermission(island, permission.getName(), islandRank, allowed));
         }
     }
 
@@ -332,9 +583,11 @@ public class IslandManager {
      * @param island The Island which should be deleted
      */
     public void deleteIsland(@NotNull Island island) {
-        deleteIslandBlocks(island, IridiumSkyblockAPI.getInstance().getWorld(), 3);
+        // The position can be used by new islands after the blocks have been deleted
+        CompletableFuture<Void> deletion = deleteIslandBlocks(island, IridiumSkyblockAPI.getInstance().getWorld(), WorkManager.Priority.NORMAL);
+        IridiumSkyblock.getInstance().getIslandPositionManager().releasePosition(island.getPosition(), deletion);
+        leaderboard.remove(island);
 
-        Bukkit.getScheduler().runTaskAsynchronously(IridiumSkyblock.getInstance(), () -> IridiumSkyblock.getInstance().getDatabaseManager().deleteIsland(island));
         IridiumSkyblock.getInstance().getIslandManager().getIslandMembers(island).forEach(user -> {
             Player player = Bukkit.getPlayer(user.getUuid());
             if (player != null) {
@@ -344,6 +597,7 @@ public class IslandManager {
                 }
             }
         });
+        IridiumSkyblock.getInstance().getDatabaseManager().deleteIsland(island);
     }
 
     /**
@@ -353,6 +607,7 @@ public class IslandManager {
      * @return A list of Island Missions
      */
     public IslandMission getIslandMission(@NotNull Island island, @NotNull Mission mission, @NotNull String missionKey, int missionIndex) {
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
         Optional<IslandMission> islandMissionOptional = IridiumSkyblock.getInstance().getDatabaseManager().getIslandMissionList().stream().filter(isMission -> isMission.getIsland() == island.getId() && isMission.getMissionName().equalsIgnoreCase(missionKey) && isMission.getMissionIndex() == missionIndex - 1).findFirst();
         if (islandMissionOptional.isPresent()) {
             return islandMissionOptional.get();
@@ -370,6 +625,7 @@ public class IslandManager {
      * @return The daily missions
      */
     public HashMap<String, Mission> getDailyIslandMissions(@NotNull Island island) {
+        IridiumSkyblock.getInstance().getDatabaseManager().loadIslandData(island);
         HashMap<String, Mission> missions = new HashMap<>();
         List<IslandMission> islandMissions = IridiumSkyblock.getInstance().getDatabaseManager().getIslandMissionList().stream().filter(islandMission -> islandMission.getIsland() == island.getId() && islandMission.getType() == Mission.MissionType.DAILY).collect(Collectors.toList());
 
@@ -395,55 +651,111 @@ public class IslandManager {
     }
 
     /**
-     * Recalculates the island value of the specified island.
+     * Returns whether or not the last scan of every chunk of an Island is older than
+     * {@link com.iridium.iridiumskyblock.configs.Configuration#islandFullRescanInterval}.
      *
      * @param island The specified Island
+     * @return If the next recalculation has to scan every chunk
      */
-    public void recalculateIsland(@NotNull Island island) {
-        // Reset their value
-        IridiumSkyblock.getInstance().getBlockValues().blockValues.keySet().stream().map(material -> IridiumSkyblock.getInstance().getIslandManager().getIslandBlock(island, material)).forEach(islandBlocks -> islandBlocks.ifPresent(blocks -> blocks.setAmount(0)));
-        island.setValue(0.00);
-
-        // Calculate and set their new value
-        getIslandChunks(island, IridiumSkyblockAPI.getInstance().getWorld()).thenAccept(chunks -> recalculateIsland(island, chunks.stream().map(chunk -> chunk.getChunkSnapshot(true, false, false)).collect(Collectors.toList())));
+    public boolean isFullScanDue(@NotNull Island island) {
+        return System.currentTimeMillis() - island.getLastFullScan() >= IridiumSkyblock.getInstance().getConfiguration().islandFullRescanInterval * 1000L;
     }
 
     /**
-     * Recalculates the island async with specified ChunkSnapshots.
+     * Recalculates the island value of the specified island.
+     * Only the chunks which have changed since the last recalculation are scanned again,
+     * unless the chunks haven't been scanned since the restart or a full scan is due.
      *
-     * @param island         The specified Island
-     * @param chunkSnapshots The specified ChunkSnapshots
+     * @param island The specified Island
+     * @return A completable future for when the new value has been applied
      */
-    private void recalculateIsland(@NotNull Island island, @NotNull List<ChunkSnapshot> chunkSnapshots) {
-        Bukkit.getScheduler().runTaskAsynchronously(IridiumSkyblock.getInstance(), () ->
-                chunkSnapshots.forEach(chunk -> {
-                    for (int x = 0; x < 16; x++) {
-                        for (int z = 0; z < 16; z++) {
-                            if (island.isInIsland(x + (chunk.getX() * 16), z + (chunk.getZ() * 16))) {
-                                final int maxy = chunk.getHighestBlockYAt(x, z);
-                                for (int y = 0; y <= maxy; y++) {
-                                    XMaterial material = XMaterial.matchXMaterial(chunk.getBlockType(x, y, z));
-                                    if (material.equals(XMaterial.AIR)) continue;
+    public CompletableFuture<Void> recalculateIsland(@NotNull Island island) {
+        if (IridiumSkyblock.getInstance().getConfiguration().verifyIslandValues) {
+            IridiumSkyblock.getInstance().getDatabaseManager().loadIslandDataAsync(island).thenRun(() ->
+                    Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> verifyIslandValue(island))
+            );
+        }
+
+        ChunkValueTable chunkValueTable = island.getChunkValueTable();
+        if (chunkValueTable.isScanning()) return CompletableFuture.completedFuture(null);
+
+        World world = IridiumSkyblockAPI.getInstance().getWorld();
+        Set<Long> dirtyChunks = chunkValueTable.pollDirtyChunks();
+        boolean fullScanDue = isFullScanDue(island);
+        // Nothing has changed since the last recalculation, the stored value is still up to date
+        if (dirtyChunks.isEmpty() && !fullScanDue) return CompletableFuture.completedFuture(null);
+        // Without the amounts of every chunk the changed chunks can't be subtracted
+        boolean fullScan = fullScanDue || !chunkValueTable.isComplete();
+        List<Long> chunkKeys = fullScan ? getIslandChunkKeys(island, world) : new ArrayList<>(dirtyChunks);
+        long scanTime = System.currentTimeMillis();
+        chunkValueTable.setScanning(true);
+        int generation = chunkValueTable.getGeneration();
+
+        List<XMaterial> valuableBlocks = IridiumSkyblock.getInstance().getValuableBlockList();
+        double size = island.getSize() / 2.00;
+        int minX = (int) Math.ceil(island.getCenterX() - size);
+        int minZ = (int) Math.ceil(island.getCenterZ() - size);
+        int maxX = (int) Math.floor(island.getCenterX() + size);
+        int maxZ = (int) Math.floor(island.getCenterZ() + size);
 
-                                    if (IridiumSkyblock.getInstance().getBlockValues().blockValues.containsKey(material)) {
-                                        Optional<IslandBlocks> optionalIslandBlock = IridiumSkyblock.getInstance().getIslandManager().getIslandBlock(island, material);
+        // Calculate and set their new value
+        CompletableFuture<Void> completableFuture = new CompletableFuture<>();
+        getChunks(world, chunkKeys).thenCompose(chunks -> {
+            // Taking the snapshots has to be done on the main thread, one chunk per step
+            List<ChunkSnapshot> chunkSnapshots = new ArrayList<>(chunks.size());
+            return IridiumSkyblock.getInstance().getWorkManager().submit(WorkManager.Priority.LOW, chunks.size(), step ->
+                    chunkSnapshots.add(chunks.get(step).getChunkSnapshot(true, false, false))
+            ).getCompletableFuture().thenApply(ignored -> chunkSnapshots);
+        }).thenAcceptAsync(chunkSnapshots -> {
+            // The chunks are counted in parallel
+            int[][] amounts = new int[chunkSnapshots.size()][];
+            new ChunkScanTask(chunkSnapshots, 0, chunkSnapshots.size(), amounts, IridiumSkyblock.getInstance().getMaterialValuableBlockIndexes(), valuableBlocks.size(), minX, minZ, maxX, maxZ).invoke();
+
+            // The data of the Island is loaded in the background, so the main thread never waits for the database
+            IridiumSkyblock.getInstance().getDatabaseManager().loadIslandDataAsync(island).whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> {
+                chunkValueTable.setScanning(false);
+                // The indexes don't match anymore if the valuable blocks have been reloaded in the meantime
+                boolean outdated = valuableBlocks != IridiumSkyblock.getInstance().getValuableBlockList() || generation != chunkValueTable.getGeneration();
+                if (outdated || !getIslandById(island.getId()).isPresent()) {
+                    completableFuture.complete(null);
+                    return;
+                }
+                if (!IridiumSkyblock.getInstance().getDatabaseManager().isIslandDataLoaded(island)) {
+                    resetChunkValueTable(island);
+                    completableFuture.complete(null);
+                    return;
+                }
 
-                                        if (optionalIslandBlock.isPresent()) {
-                                            optionalIslandBlock.get().setAmount(optionalIslandBlock.get().getAmount() + 1);
-                                        } else {
-                                            IslandBlocks islandBlocks = new IslandBlocks(island, material);
-                                            islandBlocks.setAmount(1);
-                                            IridiumSkyblock.getInstance().getDatabaseManager().getIslandBlocksList().add(islandBlocks);
-                                        }
+                for (int i = 0; i < chunkSnapshots.size(); i++) {
+                    chunkValueTable.setChunkAmounts(ChunkValueTable.getChunkKey(chunkSnapshots.get(i).getX(), chunkSnapshots.get(i).getZ()), amounts[i]);
+                }
+                chunkValueTable.setComplete(true);
+                if (fullScan) island.setLastFullScan(scanTime);
+                island.getValuableBlockTable().setAmounts(chunkValueTable.getAmounts());
+                setIslandValue(island, island.getValuableBlockTable().getValue());
+                completableFuture.complete(null);
+            }));
+        }).exceptionally(throwable -> {
+            throwable.printStackTrace();
+            Bukkit.getScheduler().runTask(IridiumSkyblock.getInstance(), () -> {
+                chunkValueTable.setScanning(false);
+                resetChunkValueTable(island);
+                completableFuture.complete(null);
+            });
+            return null;
+        });
+        return completableFuture;
+    }
 
-                                        island.setValue(island.getValue() + IridiumSkyblock.getInstance().getBlockValues().blockValues.get(material).value);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                })
-        );
+    /**
+     * Makes the next recalculation of an Island scan all of its chunks after a recalculation failed.
+     * The changed chunks are unknown now, so none of the amounts can be trusted.
+     *
+     * @param island The specified Island
+     */
+    private void resetChunkValueTable(@NotNull Island island) {
+        island.getChunkValueTable().setComplete(false);
+        island.setLastFullScan(0);
     }
 
     /**
@@ -548,9 +860,29 @@ public class IslandManager {
      */
     public List<Island> getIslands(SortType sortType) {
         if (sortType == SortType.VALUE) {
-            return IridiumSkyblock.getInstance().getDatabaseManager().getIslandList().stream().sorted(Comparator.comparing(Island::getValue).reversed()).collect(Collectors.toList());
+            return leaderboard.getTop(Integer.MAX_VALUE);
         }
-        return IridiumSkyblock.getInstance().getDatabaseManager().getIslandList();
+        return new ArrayList<>(IridiumSkyblock.getInstance().getDatabaseManager().getIslandList());
+    }
+
+    /**
+     * Gets the most valuable islands.
+     *
+     * @param amount The maximum amount of islands
+     * @return The islands sorted by their value
+     */
+    public List<Island> getTopIslands(int amount) {
+        return leaderboard.getTop(amount);
+    }
+
+    /**
+     * Gets the rank of an island in comparison to the other islands.
+     *
+     * @param island The specified Island
+     * @return The rank of the island, starting at 1 for the most valuable island
+     */
+    public int getIslandRank(@NotNull Island island) {
+        return leaderboard.getRank(island);
     }
 
     /**
@@ -560,4 +892,94 @@ public class IslandManager {
         VALUE
     }
 
+    /**
+     * Counts the valuable blocks of chunk snapshots inside of an area.
+     * Splits the chunks until every task only counts a single chunk.
+     */
+    private static class ChunkScanTask extends RecursiveAction {
+
+        private final List<ChunkSnapshot> chunkSnapshots;
+        private final int from;
+        private final int to;
+        private final int[][] amounts;
+        private final int[] materialValuableBlockIndexes;
+        private final int valuableBlocks;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+
+        /**
+         * The default constructor.
+         *
+         * @param chunkSnapshots               All chunk snapshots
+         * @param from                         The index of the first chunk snapshot this task counts
+         * @param to                           The index after the last chunk snapshot this task counts
+         * @param amounts                      The amounts of every chunk snapshot by its index, filled by this task
+         * @param materialValuableBlockIndexes The index of the valuable block of every Material by its ordinal
+         * @param valuableBlocks               The amount of valuable blocks
+         * @param minX                         The minimum x position of the area
+         * @param minZ                         The minimum z position of the area
+         * @param maxX                         The maximum x position of the area
+         * @param maxZ                         The maximum z position of the area
+         */
+        private ChunkScanTask(List<ChunkSnapshot> chunkSnapshots, int from, int to, int[][] amounts, int[] materialValuableBlockIndexes, int valuableBlocks, int minX, int minZ, int maxX, int maxZ) {
+            this.chunkSnapshots = chunkSnapshots;
+            this.from = from;
+            this.to = to;
+            this.amounts = amounts;
+            this.materialValuableBlockIndexes = materialValuableBlockIndexes;
+            this.valuableBlocks = valuableBlocks;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    amounts[from] = new int[valuableBlocks];
+                    countBlocks(chunkSnapshots.get(from), amounts[from]);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new ChunkScanTask(chunkSnapshots, from, middle, amounts, materialValuableBlockIndexes, valuableBlocks, minX, minZ, maxX, maxZ),
+                    new ChunkScanTask(chunkSnapshots, middle, to, amounts, materialValuableBlockIndexes, valuableBlocks, minX, minZ, maxX, maxZ)
+            );
+        }
+
+        /**
+         * Counts the valuable blocks of a single chunk inside of the area.
+         *
+         * @param chunkSnapshot The chunk snapshot
+         * @param amounts       The amount of every valuable block by its index
+         */
+        private void countBlocks(ChunkSnapshot chunkSnapshot, int[] amounts) {
+            int chunkX = chunkSnapshot.getX() << 4;
+            int chunkZ = chunkSnapshot.getZ() << 4;
+            int fromX = Math.max(minX, chunkX) - chunkX;
+            int fromZ = Math.max(minZ, chunkZ) - chunkZ;
+            int toX = Math.min(maxX, chunkX + 15) - chunkX;
+            int toZ = Math.min(maxZ, chunkZ + 15) - chunkZ;
+
+            for (int section = 0; section < 16; section++) {
+                if (chunkSnapshot.isSectionEmpty(section)) continue;
+                for (int x = fromX; x <= toX; x++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int y = section << 4; y < (section + 1) << 4; y++) {
+                            int index = materialValuableBlockIndexes[chunkSnapshot.getBlockType(x, y, z).ordinal()];
+                            if (index >= 0) amounts[index]++;
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
 }
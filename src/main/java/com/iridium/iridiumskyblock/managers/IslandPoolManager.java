@@ -0,0 +1,142 @@
+package com.iridium.iridiumskyblock.managers;
+
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
+import com.iridium.iridiumskyblock.database.IslandSlot;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Class which pastes the schematics of new Islands in advance.
+ * Schematics are pasted at the next free positions in advance while nothing else is pasted or cleared,
+ * so creating an Island only has to claim one of these slots instead of waiting for the paste.
+ * Only used on the main thread.
+ */
+public class IslandPoolManager {
+
+    // The slots which are ready to be claimed by their schematic ID in lowercase
+    private final Map<String, Queue<IslandSlot>> readySlots = new HashMap<>();
+
+    @Getter
+    private long claimedSlots;
+    @Getter
+    private long missedSlots;
+
+    /**
+     * Loads the slots which have been pasted before the last restart.
+     * Slots which were still being pasted are cleared and their positions are freed.
+     * Has to be called after the data and the {@link IslandPositionManager} have been loaded.
+     */
+    public void load() {
+        readySlots.clear();
+        for (IslandSlot islandSlot : IridiumSkyblock.getInstance().getDatabaseManager().getIslandSlotList()) {
+            if (islandSlot.isReady()) {
+                readySlots.computeIfAbsent(islandSlot.getSchematic().toLowerCase(Locale.ROOT), schematicID -> new ArrayDeque<>()).add(islandSlot);
+            } else {
+                removeSlot(islandSlot);
+            }
+        }
+    }
+
+    /**
+     * Claims a slot where the schematic has already been pasted.
+     *
+     * @param schematicID The ID of the schematic
+     * @return The position of the slot, empty if there is no ready slot for this schematic
+     */
+    public OptionalInt claimSlot(@NotNull String schematicID) {
+        Queue<IslandSlot> slots = readySlots.get(schematicID.toLowerCase(Locale.ROOT));
+        IslandSlot islandSlot = slots != null ? slots.poll() : null;
+        if (islandSlot == null) {
+            missedSlots++;
+            return OptionalInt.empty();
+        }
+        claimedSlots++;
+        IridiumSkyblock.getInstance().getDatabaseManager().deleteIslandSlot(islandSlot);
+        return OptionalInt.of(islandSlot.getPosition());
+    }
+
+    /**
+     * Removes all slots of a schematic, they can't be claimed anymore.
+     * Their positions are freed after the outdated islands have been removed.
+     * Has to be called after the schematic changed.
+     *
+     * @param schematicID The ID of the schematic
+     */
+    public void discardSlots(@NotNull String schematicID) {
+        Queue<IslandSlot> slots = readySlots.remove(schematicID.toLowerCase(Locale.ROOT));
+        if (slots == null) return;
+        slots.forEach(this::removeSlot);
+    }
+
+    /**
+     * Deletes a slot and frees its position after its blocks have been removed.
+     *
+     * @param islandSlot The slot which should be removed
+     */
+    private void removeSlot(@NotNull IslandSlot islandSlot) {
+        IridiumSkyblock.getInstance().getDatabaseManager().deleteIslandSlot(islandSlot);
+        CompletableFuture<Void> clearing = IridiumSkyblock.getInstance().getIslandManager().clearPosition(islandSlot.getPosition(), IridiumSkyblockAPI.getInstance().getWorld(), WorkManager.Priority.LOW);
+        IridiumSkyblock.getInstance().getIslandPositionManager().releasePosition(islandSlot.getPosition(), clearing);
+    }
+
+    /**
+     * Pastes one configured schematic at the next free position if it has less ready slots than configured.
+     * Does nothing while jobs with a higher priority are queued, so it never delays islands players are waiting for.
+     * Background jobs like recalculations don't stop the refill, they share the time with it.
+     * Called every {@link com.iridium.iridiumskyblock.configs.Configuration#islandPoolRefillInterval} ticks.
+     */
+    public void refill() {
+        int poolSize = IridiumSkyblock.getInstance().getConfiguration().islandPoolSize;
+        WorkManager workManager = IridiumSkyblock.getInstance().getWorkManager();
+        if (poolSize <= 0 || workManager.getQueuedJobs(WorkManager.Priority.HIGH) > 0 || workManager.getQueuedJobs(WorkManager.Priority.NORMAL) > 0) return;
+
+        for (String schematicID : getSchematicIDs()) {
+            Queue<IslandSlot> slots = readySlots.computeIfAbsent(schematicID.toLowerCase(Locale.ROOT), id -> new ArrayDeque<>());
+            if (slots.size() >= poolSize) continue;
+
+            int position = IridiumSkyblock.getInstance().getIslandPositionManager().allocatePosition();
+            Location center = IridiumSkyblock.getInstance().getIslandManager().getCenter(IridiumSkyblockAPI.getInstance().getWorld(), position);
+            // Saved before pasting, so the position isn't lost if the server stops in the meantime
+            IslandSlot islandSlot = new IslandSlot(position, schematicID);
+            IridiumSkyblock.getInstance().getDatabaseManager().addIslandSlot(islandSlot);
+            IridiumSkyblock.getInstance().getSchematicManager().pasteSchematic(center, schematicID, WorkManager.Priority.LOW).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    removeSlot(islandSlot);
+                    return;
+                }
+                islandSlot.setReady(true);
+                IridiumSkyblock.getInstance().getDatabaseManager().saveIslandSlot(islandSlot);
+                slots.add(islandSlot);
+            });
+            return;
+        }
+    }
+
+    /**
+     * Returns the amount of slots which are ready to be claimed.
+     *
+     * @return The amount of ready slots
+     */
+    public int getReadySlots() {
+        return readySlots.values().stream().mapToInt(Queue::size).sum();
+    }
+
+    /**
+     * Returns the IDs of all configured schematics.
+     *
+     * @return The schematic IDs without duplicates
+     */
+    private @NotNull List<String> getSchematicIDs() {
+        return IridiumSkyblock.getInstance().getSchematics().schematics.stream()
+                .map(schematicConfig -> schematicConfig.overworld.schematicID)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+}
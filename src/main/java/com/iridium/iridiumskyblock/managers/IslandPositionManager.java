@@ -0,0 +1,116 @@
+package com.iridium.iridiumskyblock.managers;
+
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.api.IridiumSkyblockAPI;
+import com.iridium.iridiumskyblock.database.FreeIslandPosition;
+import com.iridium.iridiumskyblock.database.Island;
+import com.iridium.iridiumskyblock.database.IslandSlot;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Class which hands out the positions on the island grid.
+ * Positions of deleted Islands are used again once their blocks have been removed,
+ * the lowest free position is always used first, so the grid stays as close to the spawn as possible.
+ * Only used on the main thread.
+ */
+public class IslandPositionManager {
+
+    // The positions which have been cleared and can be handed out
+    private final TreeMap<Integer, FreeIslandPosition> freePositions = new TreeMap<>();
+    // The position after the highest one which has ever been used
+    private int nextPosition = 1;
+
+    /**
+     * Loads the free positions.
+     * Positions which were still being cleared when the server stopped are cleared again.
+     * Has to be called after the data has been loaded.
+     */
+    public void load() {
+        DatabaseManager databaseManager = IridiumSkyblock.getInstance().getDatabaseManager();
+        Set<Integer> usedPositions = new HashSet<>();
+        databaseManager.getIslandList().stream().map(Island::getPosition).forEach(usedPositions::add);
+        databaseManager.getIslandSlotList().stream().map(IslandSlot::getPosition).forEach(usedPositions::add);
+        databaseManager.getFreeIslandPositionList().stream().map(FreeIslandPosition::getPosition).forEach(usedPositions::add);
+        nextPosition = usedPositions.stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+
+        freePositions.clear();
+        for (FreeIslandPosition freeIslandPosition : databaseManager.getFreeIslandPositionList()) {
+            if (freeIslandPosition.isCleared()) {
+                freePositions.put(freeIslandPosition.getPosition(), freeIslandPosition);
+            } else {
+                awaitClearing(freeIslandPosition, clearPosition(freeIslandPosition.getPosition()));
+            }
+        }
+
+        // Islands deleted before free positions were stored left gaps.
+        // Their deletion might have been interrupted by a restart, so they are cleared before they are used again.
+        for (int position = 1; position < nextPosition; position++) {
+            if (usedPositions.contains(position)) continue;
+            releasePosition(position, clearPosition(position));
+        }
+    }
+
+    /**
+     * Returns the lowest position on the island grid which is neither used by an Island nor by a slot.
+     *
+     * @return The position, starting at 1
+     */
+    public int allocatePosition() {
+        Map.Entry<Integer, FreeIslandPosition> freePosition = freePositions.pollFirstEntry();
+        if (freePosition == null) return nextPosition++;
+        IridiumSkyblock.getInstance().getDatabaseManager().deleteFreeIslandPosition(freePosition.getValue());
+        return freePosition.getKey();
+    }
+
+    /**
+     * Frees a position which is not used anymore.
+     * It is handed out again after its blocks have been removed.
+     *
+     * @param position The position on the island grid
+     * @param clearing A CompletableFuture which completes after the blocks at the position have been removed
+     */
+    public void releasePosition(int position, @NotNull CompletableFuture<Void> clearing) {
+        FreeIslandPosition freeIslandPosition = new FreeIslandPosition(position, false);
+        // Saved before the blocks are removed, so the clearing is continued after a restart
+        IridiumSkyblock.getInstance().getDatabaseManager().addFreeIslandPosition(freeIslandPosition);
+        awaitClearing(freeIslandPosition, clearing);
+    }
+
+    /**
+     * Returns the amount of positions which can be handed out without growing the island grid.
+     *
+     * @return The amount of free positions
+     */
+    public int getFreePositions() {
+        return freePositions.size();
+    }
+
+    /**
+     * Removes all blocks at a position in the background.
+     *
+     * @param position The position on the island grid
+     * @return A CompletableFuture which completes after the blocks have been removed
+     */
+    private @NotNull CompletableFuture<Void> clearPosition(int position) {
+        return IridiumSkyblock.getInstance().getIslandManager().clearPosition(position, IridiumSkyblockAPI.getInstance().getWorld(), WorkManager.Priority.LOW);
+    }
+
+    /**
+     * Makes a position available after its blocks have been removed.
+     * The position stays unavailable if the clearing fails.
+     *
+     * @param freeIslandPosition The position which is being cleared
+     * @param clearing           A CompletableFuture which completes after the blocks have been removed
+     */
+    private void awaitClearing(@NotNull FreeIslandPosition freeIslandPosition, @NotNull CompletableFuture<Void> clearing) {
+        clearing.thenRun(() -> {
+            freeIslandPosition.setCleared(true);
+            IridiumSkyblock.getInstance().getDatabaseManager().saveFreeIslandPosition(freeIslandPosition);
+            freePositions.put(freeIslandPosition.getPosition(), freeIslandPosition);
+        });
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.iridium.iridiumskyblock.managers;
+
+import com.iridium.iridiumskyblock.ChunkValueTable;
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import com.iridium.iridiumskyblock.database.Island;
+import com.iridium.iridiumskyblock.database.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Class which decides which Islands are recalculated next.
+ * Islands are ordered by how long ago they have been recalculated, weighted by their activity.
+ * Only used on the main thread.
+ */
+public class RecalculationManager {
+
+    // Islands with online members are preferred by this factor
+    private static final double ONLINE_WEIGHT = 4;
+    // The most valuable Islands are preferred by this factor, so the top list is accurate
+    private static final double TOP_WEIGHT = 2;
+    private static final int TOP_ISLANDS = 10;
+
+    private final PriorityQueue<QueuedIsland> queue = new PriorityQueue<>(Comparator.comparingDouble(QueuedIsland::getPriority).reversed());
+    private final Map<Integer, QueuedIsland> queuedIslands = new HashMap<>();
+    private final Map<Integer, Long> lastRecalculations = new HashMap<>();
+    private final long startTime = System.currentTimeMillis();
+    @Getter
+    private int runningRecalculations;
+
+    @Getter
+    private long completedRecalculations;
+    private long totalWaitMillis;
+    @Getter
+    private long maxWaitMillis;
+    private long totalDurationMillis;
+
+    /**
+     * Queues an Island for a recalculation.
+     * Does nothing if the Island is already queued.
+     *
+     * @param island The Island which should be recalculated
+     */
+    public void request(@NotNull Island island) {
+        if (queuedIslands.containsKey(island.getId())) return;
+        QueuedIsland queuedIsland = new QueuedIsland(island.getId(), getPriority(island, getOnlineIslands(), getTopIslands(), System.currentTimeMillis()), System.currentTimeMillis());
+        queuedIslands.put(island.getId(), queuedIsland);
+        queue.add(queuedIsland);
+    }
+
+    /**
+     * Updates the priority of all Islands and queues the ones which need a recalculation.
+     * Called every {@link com.iridium.iridiumskyblock.configs.Configuration#islandRecalculateInterval} seconds.
+     */
+    public void refresh() {
+        Set<Integer> onlineIslands = getOnlineIslands();
+        Set<Integer> topIslands = getTopIslands();
+        long time = System.currentTimeMillis();
+
+        for (Island island : IridiumSkyblock.getInstance().getDatabaseManager().getIslandList()) {
+            double priority = getPriority(island, onlineIslands, topIslands, time);
+            QueuedIsland queuedIsland = queuedIslands.get(island.getId());
+            if (queuedIsland != null) {
+                queuedIsland.priority = Math.max(queuedIsland.priority, priority);
+            } else if (priority > 0) {
+                queuedIslands.put(island.getId(), new QueuedIsland(island.getId(), priority, time));
+            }
+        }
+
+        // The priorities have changed, so the queue has to be sorted again
+        queue.clear();
+        queue.addAll(queuedIslands.values());
+    }
+
+    /**
+     * Starts the recalculations of the Islands with the highest priority
+     * until {@link com.iridium.iridiumskyblock.configs.Configuration#maxConcurrentRecalculations} are running.
+     * Called every tick.
+     */
+    public void tick() {
+        while (runningRecalculations < IridiumSkyblock.getInstance().getConfiguration().maxConcurrentRecalculations && !queue.isEmpty()) {
+            QueuedIsland queuedIsland = queue.poll();
+            queuedIslands.remove(queuedIsland.islandId);
+
+            Optional<Island> island = IridiumSkyblock.getInstance().getIslandManager().getIslandById(queuedIsland.islandId);
+            if (!island.isPresent()) {
+                lastRecalculations.remove(queuedIsland.islandId);
+                continue;
+            }
+
+            long recalculationStart = System.currentTimeMillis();
+            long waitMillis = recalculationStart - queuedIsland.queueTime;
+            runningRecalculations++;
+            IridiumSkyblock.getInstance().getIslandManager().recalculateIsland(island.get()).whenComplete((result, throwable) -> {
+                runningRecalculations--;
+                lastRecalculations.put(queuedIsland.islandId, recalculationStart);
+                completedRecalculations++;
+                totalWaitMillis += waitMillis;
+                maxWaitMillis = Math.max(maxWaitMillis, waitMillis);
+                totalDurationMillis += System.currentTimeMillis() - recalculationStart;
+            });
+        }
+    }
+
+    /**
+     * Returns the amount of Islands which are waiting for a recalculation.
+     *
+     * @return The amount of queued Islands
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Returns how long Islands have been queued on average before their recalculation started.
+     *
+     * @return The average waiting time in milliseconds
+     */
+    public long getAverageWaitMillis() {
+        return completedRecalculations == 0 ? 0 : totalWaitMillis / completedRecalculations;
+    }
+
+    /**
+     * Returns how long recalculations took on average.
+     *
+     * @return The average duration in milliseconds
+     */
+    public long getAverageDurationMillis() {
+        return completedRecalculations == 0 ? 0 : totalDurationMillis / completedRecalculations;
+    }
+
+    /**
+     * Calculates how urgently an Island needs to be recalculated.
+     * Grows with the time since the last recalculation and the amount of changed chunks.
+     * Islands which haven't changed are only recalculated once a full scan is due.
+     *
+     * @param island        The Island
+     * @param onlineIslands The ids of the Islands with online members
+     * @param topIslands    The ids of the most valuable Islands
+     * @param time          The current time in milliseconds
+     * @return The priority, 0 if the Island doesn't need a recalculation
+     */
+    private double getPriority(Island island, Set<Integer> onlineIslands, Set<Integer> topIslands, long time) {
+        ChunkValueTable chunkValueTable = island.getChunkValueTable();
+        if (chunkValueTable.isScanning()) return 0;
+        int changedChunks = chunkValueTable.getDirtyChunkCount();
+        // Nothing has changed since the last recalculation
+        if (changedChunks == 0 && !IridiumSkyblock.getInstance().getIslandManager().isFullScanDue(island)) return 0;
+
+        double staleness = (time - lastRecalculations.getOrDefault(island.getId(), startTime)) / 1000.0 + 1;
+        double priority = staleness * (1 + changedChunks);
+        if (onlineIslands.contains(island.getId())) priority *= ONLINE_WEIGHT;
+        if (topIslands.contains(island.getId())) priority *= TOP_WEIGHT;
+        return priority;
+    }
+
+    private Set<Integer> getOnlineIslands() {
+        return Bukkit.getOnlinePlayers().stream()
+                .map(player -> IridiumSkyblock.getInstance().getUserManager().getUser(player))
+                .map(User::getIslandId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<Integer> getTopIslands() {
+        return IridiumSkyblock.getInstance().getIslandManager().getTopIslands(TOP_ISLANDS).stream()
+                .map(Island::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Represents an Island which is waiting for a recalculation.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class QueuedIsland {
+
+        private final int islandId;
+        private double priority;
+        private final long queueTime;
+
+    }
+
+}
@@ -1,22 +1,27 @@
 package com.iridium.iridiumskyblock.managers;
 
-import com.iridium.iridiumskyblock.BlockData;
 import com.iridium.iridiumskyblock.IridiumSkyblock;
 import com.iridium.iridiumskyblock.Schematic;
 import com.iridium.iridiumskyblock.database.Island;
 import com.iridium.iridiumskyblock.database.SchematicData;
 import com.iridium.iridiumskyblock.utils.TriFunction;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.util.BlockVector;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -27,7 +32,11 @@ import static java.lang.Math.min;
 public class SchematicManager {
 
     // If we cant find a schematic by the id we will use this one instead
-    private final SchematicData defaultSchematic;
+    private final Schematic defaultSchematic;
+    // The decoded schematics by their lower case id
+    private final Map<String, Schematic> schematics = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
     /**
      * The default constructor.
@@ -41,10 +50,18 @@ public class SchematicManager {
         } catch (IOException e) {
             e.printStackTrace();
         }
-        this.defaultSchematic = IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().get(0);
+        // Decoding is slow, so all schematics are decoded at once in parallel.
+        // Schematics in the old JSON format are converted into the binary format.
+        IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().parallelStream().forEach(schematicData -> {
+            boolean legacyFormat = schematicData.isLegacyFormat();
+            Schematic schematic = schematicData.getSchematic();
+            if (legacyFormat) schematicData.setSchematic(schematic);
+            schematics.put(schematicData.getId().toLowerCase(Locale.ROOT), schematic);
+        });
+        this.defaultSchematic = schematics.get(IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().get(0).getId().toLowerCase(Locale.ROOT));
 
         // Saves the new schematics we added to the database.
-        Bukkit.getScheduler().runTaskAsynchronously(IridiumSkyblock.getInstance(), () -> IridiumSkyblock.getInstance().getDatabaseManager().saveSchematics());
+        IridiumSkyblock.getInstance().getDatabaseManager().runAsync(IridiumSkyblock.getInstance().getDatabaseManager()::saveSchematics);
     }
 
     /**
@@ -56,53 +73,110 @@ public class SchematicManager {
     }
 
 
+    /**
+     * Returns the decoded schematic with the provided id.
+     * Schematics are only decoded once and cached afterwards.
+     *
+     * @param schematicID The schematic's id
+     * @return The schematic, the default schematic if there is none with this id
+     */
+    public Schematic getSchematic(String schematicID) {
+        String key = schematicID.toLowerCase(Locale.ROOT);
+        Schematic schematic = schematics.get(key);
+        if (schematic != null) {
+            cacheHits.increment();
+            return schematic;
+        }
+
+        cacheMisses.increment();
+        Optional<SchematicData> schematicData = IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().stream()
+                .filter(data -> data.getId().equalsIgnoreCase(schematicID))
+                .findFirst();
+        if (!schematicData.isPresent()) return defaultSchematic;
+        return schematics.computeIfAbsent(key, id -> schematicData.get().getSchematic());
+    }
+
+    /**
+     * Returns how often a schematic has been found in the cache.
+     *
+     * @return The amount of cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns how often a schematic had to be looked up because it wasn't in the cache.
+     * Includes lookups of schematics which don't exist.
+     *
+     * @return The amount of cache misses
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Returns the amount of cached schematics.
+     *
+     * @return The amount of decoded schematics
+     */
+    public int getCacheSize() {
+        return schematics.size();
+    }
+
     /**
      * Pastes the island schematic at the designated island.
      *
      * @param island      The island you want the schematic to be pasted at
      * @param world       The world you want it to be pasted in
      * @param schematicID The schematic's id
+     * @param priority    The priority of the paste job
      * @return A completable future of when its finished pasting
      */
-    public CompletableFuture<Void> pasteSchematic(final Island island, final World world, final String schematicID, final int delay) {
-        CompletableFuture<Void> completableFuture = new CompletableFuture<>();
-        Schematic schematic = IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().stream().filter(schematicData -> schematicData.getId().equalsIgnoreCase(schematicID)).findFirst().orElse(defaultSchematic).getSchematic();
+    public CompletableFuture<Void> pasteSchematic(final Island island, final World world, final String schematicID, final WorkManager.Priority priority) {
+        return pasteSchematic(island.getCenter(world), schematicID, priority);
+    }
 
-        pasteSchematic(island, world, schematic, completableFuture, 0, delay);
+    /**
+     * Pastes the island schematic at the designated center.
+     *
+     * @param center      The center of the island
+     * @param schematicID The schematic's id
+     * @param priority    The priority of the paste job
+     * @return A completable future of when its finished pasting
+     */
+    public CompletableFuture<Void> pasteSchematic(final Location center, final String schematicID, final WorkManager.Priority priority) {
+        Schematic schematic = getSchematic(schematicID);
+        Location corner = center.clone().subtract(schematic.getLength(), -90, schematic.getWidth());
 
-        return completableFuture;
+        // Every step pastes the part of the schematic inside of one chunk section, the parts outside of the world are skipped
+        int firstSection = max(0, corner.getBlockY() >> 4);
+        int lastSection = min((center.getWorld().getMaxHeight() - 1) >> 4, (corner.getBlockY() + schematic.getHeight() - 1) >> 4);
+        if (lastSection < firstSection) return CompletableFuture.completedFuture(null);
+        return IridiumSkyblock.getInstance().getWorkManager().submit(priority, lastSection - firstSection + 1, step -> {
+            int section = firstSection + step;
+            int minY = max(0, (section << 4) - corner.getBlockY());
+            int maxY = min(schematic.getHeight(), ((section + 1) << 4) - corner.getBlockY());
+            pasteSchematic(corner, schematic, minY, maxY);
+        }).getCompletableFuture();
     }
 
     /**
-     * Pastes the schematic one layer at a time starting at the specified y level
+     * Pastes the specified layers of the schematic.
      *
-     * @param island            The island the schematic is being pasted at
-     * @param world             The world the schematic is being pasted at
-     * @param schematic         The schematic being pasted
-     * @param completableFuture The completable future that's being returned
-     * @param y                 The starting layer of the schematic that's being pasted
+     * @param corner    The location of the schematic's corner
+     * @param schematic The schematic being pasted
+     * @param minY      The first layer which should be pasted
+     * @param maxY      The layer after the last one which should be pasted
      */
-    private void pasteSchematic(final Island island, final World world, final Schematic schematic, final CompletableFuture<Void> completableFuture, final int y, final int delay) {
-        // If y is equal to Schematic#getHeight then theres nothing else to paste so we should return and complete the completable future
-        if (y == schematic.getHeight()) {
-            completableFuture.complete(null);
-            return;
-        }
-
-        // Loop all blocks in the schematics layer at the current y level
-        for (int x = 0; x < schematic.getLength(); x++) {
-            for (int z = 0; z < schematic.getWidth(); z++) {
-                Block block = island.getCenter(world).subtract(schematic.getLength(), -90, schematic.getWidth()).add(x, y, z).getBlock();
-                BlockData blockData = schematic.getBlockData()[x][y][z];
-                if (blockData != null) blockData.setBlock(block);
-            }
-        }
+    private void pasteSchematic(final Location corner, final Schematic schematic, final int minY, final int maxY) {
+        World world = corner.getWorld();
+        List<BlockVector> skippedBlocks = IridiumSkyblock.getInstance().getNms().pasteSchematic(world, corner.getBlockX(), corner.getBlockY(), corner.getBlockZ(), schematic, minY, maxY);
 
-        // If schematicPastingDelay is 0 then we want it to execute immediately
-        if (delay == 0) {
-            pasteSchematic(island, world, schematic, completableFuture, y + 1, delay);
-        } else {
-            Bukkit.getScheduler().runTaskLater(IridiumSkyblock.getInstance(), () -> pasteSchematic(island, world, schematic, completableFuture, y + 1, delay), delay);
+        // Containers need their inventory, so they are placed with Bukkit
+        for (BlockVector position : skippedBlocks) {
+            Block block = world.getBlockAt(corner.getBlockX() + position.getBlockX(), corner.getBlockY() + position.getBlockY(), corner.getBlockZ() + position.getBlockZ());
+            schematic.getBlockData()[position.getBlockX()][position.getBlockY()][position.getBlockZ()].setBlock(block);
         }
     }
 
@@ -248,6 +322,11 @@ public class SchematicManager {
         SchematicData schematicData = new SchematicData(name, schematic);
         IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().removeIf(s -> s.getId().equals(name));
         IridiumSkyblock.getInstance().getDatabaseManager().getSchematicDataList().add(schematicData);
+        // Replaces the outdated schematic in the cache
+        schematics.put(name.toLowerCase(Locale.ROOT), schematic);
+        // Islands pasted in advance still have the old schematic
+        IridiumSkyblock.getInstance().getIslandPoolManager().discardSlots(name);
+        IridiumSkyblock.getInstance().getDatabaseManager().runAsync(IridiumSkyblock.getInstance().getDatabaseManager()::saveSchematics);
     }
 
 }
@@ -0,0 +1,150 @@
+package com.iridium.iridiumskyblock.managers;
+
+import com.iridium.iridiumskyblock.IridiumSkyblock;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Class which runs heavy world operations like pasting, clearing and recalculating islands.
+ * Jobs are split into steps and only run for a limited amount of time every tick, so they don't cause lag spikes.
+ */
+public class WorkManager {
+
+    private final Map<Priority, Queue<Job>> jobs = new EnumMap<>(Priority.class);
+
+    /**
+     * The default constructor.
+     */
+    public WorkManager() {
+        for (Priority priority : Priority.values()) {
+            jobs.put(priority, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Queues a new job.
+     * The steps are always run on the main thread, one after another.
+     *
+     * @param priority The priority of the job
+     * @param steps    The amount of steps of the job
+     * @param step     Runs the step with the provided index
+     * @return The queued job
+     */
+    public @NotNull Job submit(@NotNull Priority priority, int steps, @NotNull IntConsumer step) {
+        Job job = new Job(steps, step);
+        if (steps <= 0) {
+            job.completableFuture.complete(null);
+        } else {
+            jobs.get(priority).add(job);
+        }
+        return job;
+    }
+
+    /**
+     * Runs steps of the queued jobs until the time budget of this tick is used up.
+     * Jobs with a higher priority are run first, jobs with the same priority take turns.
+     * Has to be called on the main thread every tick.
+     */
+    public void tick() {
+        long deadline = System.nanoTime() + IridiumSkyblock.getInstance().getConfiguration().workTickBudget * 1000000L;
+        for (Priority priority : Priority.values()) {
+            Queue<Job> queue = jobs.get(priority);
+            Job job;
+            while ((job = queue.poll()) != null) {
+                job.runStep();
+                if (!job.completableFuture.isDone()) queue.add(job);
+                // At least one step is run every tick, so jobs always make progress
+                if (System.nanoTime() >= deadline) return;
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of jobs which are not finished yet.
+     *
+     * @return The amount of queued jobs
+     */
+    public int getQueuedJobs() {
+        return jobs.values().stream().mapToInt(Queue::size).sum();
+    }
+
+    /**
+     * Returns the amount of jobs of a priority which are not finished yet.
+     *
+     * @param priority The priority of the jobs
+     * @return The amount of queued jobs
+     */
+    public int getQueuedJobs(@NotNull Priority priority) {
+        return jobs.get(priority).size();
+    }
+
+    /**
+     * Represents the priority of a job.
+     */
+    public enum Priority {
+        // Jobs which players are waiting for, like creating an island
+        HIGH,
+        NORMAL,
+        // Jobs which run in the background, like recalculating islands
+        LOW
+    }
+
+    /**
+     * Represents a queued job.
+     */
+    public static class Job {
+
+        private final int steps;
+        private final IntConsumer step;
+        private volatile int completedSteps;
+        // Completed when all steps have been run
+        @Getter
+        private final CompletableFuture<Void> completableFuture = new CompletableFuture<>();
+
+        /**
+         * The default constructor.
+         *
+         * @param steps The amount of steps of the job
+         * @param step  Runs the step with the provided index
+         */
+        private Job(int steps, IntConsumer step) {
+            this.steps = steps;
+            this.step = step;
+        }
+
+        /**
+         * Runs the next step and completes the job after the last one.
+         * The job is cancelled if a step fails.
+         */
+        private void runStep() {
+            try {
+                step.accept(completedSteps++);
+            } catch (Exception exception) {
+                exception.printStackTrace();
+                completableFuture.completeExceptionally(exception);
+                return;
+            }
+            if (completedSteps >= steps) {
+                completableFuture.complete(null);
+            }
+        }
+
+        /**
+         * Returns how much of the job has been done.
+         *
+         * @return The progress, between 0 and 1
+         */
+        public double getProgress() {
+            return steps <= 0 ? 1 : (double) completedSteps / steps;
+        }
+
+    }
+
+}
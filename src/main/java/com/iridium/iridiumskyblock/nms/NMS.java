@@ -1,10 +1,12 @@
 package com.iridium.iridiumskyblock.nms;
 
 import com.iridium.iridiumskyblock.Color;
+import com.iridium.iridiumskyblock.Schematic;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BlockVector;
 
 import java.util.List;
 
@@ -29,6 +31,51 @@ public interface NMS {
      */
     void setBlockFast(World world, int x, int y, int z, int blockId, byte data, boolean applyPhysics);
 
+    /**
+     * Pastes the layers of a schematic by writing the blocks directly into the chunk sections.
+     * Blocks are grouped by chunk section, physics are not applied and every changed chunk is relit and sent once.
+     * Blocks with a tile entity like containers are skipped, they have to be placed with Bukkit.
+     *
+     * @param world     The world where the schematic should be pasted
+     * @param x         The x position of the schematic's corner
+     * @param y         The y position of the schematic's corner
+     * @param z         The z position of the schematic's corner
+     * @param schematic The schematic which should be pasted
+     * @param minY      The first layer of the schematic which should be pasted
+     * @param maxY      The layer after the last one which should be pasted
+     * @return The positions in the schematic of the blocks which have been skipped
+     */
+    List<BlockVector> pasteSchematic(World world, int x, int y, int z, Schematic schematic, int minY, int maxY);
+
+    /**
+     * Removes all blocks, tile entities and entities except players of a chunk inside of the specified area.
+     * Chunks which are fully inside of the area are cleared by removing their sections,
+     * only the parts of other chunks are cleared block by block.
+     * The chunk is relit and sent once afterwards.
+     *
+     * @param world  The world of the chunk
+     * @param chunkX The x position of the chunk
+     * @param chunkZ The z position of the chunk
+     * @param minX   The minimum x position of the area
+     * @param minZ   The minimum z position of the area
+     * @param maxX   The maximum x position of the area
+     * @param maxZ   The maximum z position of the area
+     */
+    void clearChunk(World world, int chunkX, int chunkZ, int minX, int minZ, int maxX, int maxZ);
+
+    /**
+     * Deletes the region file and the point of interest file of a region, so all of its chunks are generated again.
+     * The cached files of the server are closed first. None of the chunks of the region may be loaded.
+     * Can be called from any thread except the main thread, because it waits for the IOWorkers of the world.
+     * Not supported on Paper, which does its chunk IO on a separate thread.
+     *
+     * @param world   The world of the region
+     * @param regionX The x position of the region
+     * @param regionZ The z position of the region
+     * @return If the files have been deleted, false if this failed and the region has to be cleared block by block
+     */
+    boolean deleteRegionFiles(World world, int regionX, int regionZ);
+
     /**
      * Sends the provided chunk to all the specified players.
      * Used for updating chunks.
@@ -1,15 +1,32 @@
 package com.iridium.iridiumskyblock.nms;
 
+import com.iridium.iridiumskyblock.BlockData;
 import com.iridium.iridiumskyblock.Color;
+import com.iridium.iridiumskyblock.Schematic;
 import net.minecraft.server.v1_16_R3.*;
+import com.mojang.datafixers.util.Either;
+import io.papermc.lib.PaperLib;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.craftbukkit.v1_16_R3.CraftChunk;
 import org.bukkit.craftbukkit.v1_16_R3.CraftWorld;
 import org.bukkit.craftbukkit.v1_16_R3.entity.CraftPlayer;
+import org.bukkit.craftbukkit.v1_16_R3.util.CraftMagicNumbers;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BlockVector;
 
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Interface for working with the net.minecraft.server package.
@@ -46,6 +63,257 @@ public class v1_16_R3 implements NMS {
         nmsChunk.getWorld().getChunkProvider().getLightEngine().a(new BlockPosition(x, y, z));
     }
 
+    /**
+     * Pastes the layers of a schematic by writing the blocks directly into the chunk sections.
+     * Blocks are grouped by chunk section, physics are not applied and every changed chunk is relit and sent once.
+     * Blocks with a tile entity like containers are skipped, they have to be placed with Bukkit.
+     *
+     * @param world     The world where the schematic should be pasted
+     * @param x         The x position of the schematic's corner
+     * @param y         The y position of the schematic's corner
+     * @param z         The z position of the schematic's corner
+     * @param schematic The schematic which should be pasted
+     * @param minY      The first layer of the schematic which should be pasted
+     * @param maxY      The layer after the last one which should be pasted
+     * @return The positions in the schematic of the blocks which have been skipped
+     */
+    @Override
+    public List<BlockVector> pasteSchematic(org.bukkit.World world, int x, int y, int z, Schematic schematic, int minY, int maxY) {
+        World nmsWorld = ((CraftWorld) world).getHandle();
+        List<BlockVector> skippedBlocks = new ArrayList<>();
+        List<Chunk> changedChunks = new ArrayList<>();
+        // Converting the block data is slow, so every distinct block is only converted once
+        Map<Integer, IBlockData> blockDataCache = new HashMap<>();
+
+        int maxX = x + schematic.getLength() - 1;
+        int maxZ = z + schematic.getWidth() - 1;
+        // Layers outside of the world are skipped
+        int fromY = Math.max(0, y + minY);
+        int toY = Math.min(world.getMaxHeight() - 1, y + maxY - 1);
+        for (int chunkX = x >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = z >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                Chunk nmsChunk = nmsWorld.getChunkAt(chunkX, chunkZ);
+                boolean changed = false;
+
+                for (int sectionY = fromY >> 4; sectionY <= toY >> 4; sectionY++) {
+                    ChunkSection chunkSection = nmsChunk.getSections()[sectionY];
+                    if (chunkSection == null) {
+                        chunkSection = new ChunkSection(sectionY << 4);
+                        nmsChunk.getSections()[sectionY] = chunkSection;
+                    }
+
+                    // The part of the schematic which is inside of this section
+                    for (int blockX = Math.max(x, chunkX << 4); blockX <= Math.min(maxX, (chunkX << 4) + 15); blockX++) {
+                        for (int blockY = Math.max(fromY, sectionY << 4); blockY <= Math.min(toY, (sectionY << 4) + 15); blockY++) {
+                            for (int blockZ = Math.max(z, chunkZ << 4); blockZ <= Math.min(maxZ, (chunkZ << 4) + 15); blockZ++) {
+                                BlockData blockData = schematic.getBlockData()[blockX - x][blockY - y][blockZ - z];
+                                if (blockData == null) continue;
+
+                                IBlockData iBlockData = blockDataCache.computeIfAbsent(blockData.getMaterial().ordinal() << 8 | blockData.getData() & 0xFF, key ->
+                                        CraftMagicNumbers.getBlock(blockData.getMaterial(), blockData.getData())
+                                );
+                                if (iBlockData.getBlock() instanceof ITileEntity) {
+                                    skippedBlocks.add(new BlockVector(blockX - x, blockY - y, blockZ - z));
+                                    continue;
+                                }
+                                chunkSection.setType(blockX & 15, blockY & 15, blockZ & 15, iBlockData);
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+
+                if (changed) changedChunks.add(nmsChunk);
+            }
+        }
+
+        List<Player> players = world.getPlayers();
+        changedChunks.forEach(nmsChunk -> updateChunk(nmsChunk, players));
+        return skippedBlocks;
+    }
+
+    /**
+     * Removes all blocks, tile entities and entities except players of a chunk inside of the specified area.
+     * Chunks which are fully inside of the area are cleared by removing their sections,
+     * only the parts of other chunks are cleared block by block.
+     * The chunk is relit and sent once afterwards.
+     *
+     * @param world  The world of the chunk
+     * @param chunkX The x position of the chunk
+     * @param chunkZ The z position of the chunk
+     * @param minX   The minimum x position of the area
+     * @param minZ   The minimum z position of the area
+     * @param maxX   The maximum x position of the area
+     * @param maxZ   The maximum z position of the area
+     */
+    @Override
+    public void clearChunk(org.bukkit.World world, int chunkX, int chunkZ, int minX, int minZ, int maxX, int maxZ) {
+        World nmsWorld = ((CraftWorld) world).getHandle();
+        Chunk nmsChunk = nmsWorld.getChunkAt(chunkX, chunkZ);
+
+        // The part of the area which is inside of this chunk
+        int fromX = Math.max(minX, chunkX << 4);
+        int fromZ = Math.max(minZ, chunkZ << 4);
+        int toX = Math.min(maxX, (chunkX << 4) + 15);
+        int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+        if (fromX > toX || fromZ > toZ) return;
+        boolean fullChunk = toX - fromX == 15 && toZ - fromZ == 15;
+
+        new ArrayList<>(nmsChunk.getTileEntities().keySet()).stream()
+                .filter(blockPosition -> blockPosition.getX() >= fromX && blockPosition.getX() <= toX && blockPosition.getZ() >= fromZ && blockPosition.getZ() <= toZ)
+                .forEach(nmsWorld::removeTileEntity);
+
+        ChunkSection[] chunkSections = nmsChunk.getSections();
+        for (int sectionY = 0; sectionY < chunkSections.length; sectionY++) {
+            if (ChunkSection.a(chunkSections[sectionY])) continue;
+            if (fullChunk) {
+                chunkSections[sectionY] = Chunk.a;
+                continue;
+            }
+
+            for (int x = fromX; x <= toX; x++) {
+                for (int y = 0; y < 16; y++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        if (!chunkSections[sectionY].getType(x & 15, y, z & 15).isAir()) {
+                            chunkSections[sectionY].setType(x & 15, y, z & 15, Blocks.AIR.getBlockData());
+                        }
+                    }
+                }
+            }
+        }
+
+        for (org.bukkit.entity.Entity entity : nmsChunk.bukkitChunk.getEntities()) {
+            Location location = entity.getLocation();
+            if (entity instanceof Player || location.getBlockX() < fromX || location.getBlockX() > toX || location.getBlockZ() < fromZ || location.getBlockZ() > toZ) {
+                continue;
+            }
+            entity.remove();
+        }
+
+        updateChunk(nmsChunk, world.getPlayers());
+    }
+
+    /**
+     * Deletes the region file and the point of interest file of a region, so all of its chunks are generated again.
+     * The cached files of the server are closed first. None of the chunks of the region may be loaded.
+     * Can be called from any thread except the main thread, because it waits for the IOWorkers of the world.
+     *
+     * @param world   The world of the region
+     * @param regionX The x position of the region
+     * @param regionZ The z position of the region
+     * @return If the files have been deleted, false if this failed and the region has to be cleared block by block
+     */
+    @Override
+    public boolean deleteRegionFiles(org.bukkit.World world, int regionX, int regionZ) {
+        // Paper reads and writes the region files on its PaperFileIOThread instead of the IOWorkers,
+        // waiting for the IOWorkers doesn't stop it from using the files
+        if (PaperLib.isPaper()) return false;
+        PlayerChunkMap playerChunkMap = ((CraftWorld) world).getHandle().getChunkProvider().playerChunkMap;
+        File worldFolder = world.getWorldFolder();
+        if (world.getEnvironment() == org.bukkit.World.Environment.NETHER) worldFolder = new File(worldFolder, "DIM-1");
+        if (world.getEnvironment() == org.bukkit.World.Environment.THE_END) worldFolder = new File(worldFolder, "DIM1");
+        try {
+            // The fields are found by their type because their names are obfuscated
+            IOWorker chunkWorker = getField(playerChunkMap, IChunkLoader.class, IOWorker.class);
+            VillagePlace villagePlace = getField(playerChunkMap, PlayerChunkMap.class, VillagePlace.class);
+            IOWorker poiWorker = getField(villagePlace, RegionFileSection.class, IOWorker.class);
+            return deleteRegionFile(chunkWorker, new File(worldFolder, "region"), regionX, regionZ)
+                    && deleteRegionFile(poiWorker, new File(worldFolder, "poi"), regionX, regionZ);
+        } catch (ReflectiveOperationException | ExecutionException | TimeoutException exception) {
+            exception.printStackTrace();
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Closes the cached region file of the IOWorker and deletes it.
+     * Writes which have been queued before, e.g. by an autosave, are finished first.
+     * The file is closed and deleted by the IOWorker itself, so it can't be used or recreated at the same time.
+     *
+     * @param ioWorker The IOWorker which reads and writes the region files
+     * @param folder   The folder of the region files
+     * @param regionX  The x position of the region
+     * @param regionZ  The z position of the region
+     * @return If the file does not exist anymore
+     */
+    @SuppressWarnings("unchecked")
+    private boolean deleteRegionFile(IOWorker ioWorker, File folder, int regionX, int regionZ) throws ReflectiveOperationException, InterruptedException, ExecutionException, TimeoutException {
+        RegionFileCache regionFileCache = getField(ioWorker, IOWorker.class, RegionFileCache.class);
+        Map<Long, RegionFile> cache = getField(regionFileCache, RegionFileCache.class, Map.class);
+        File file = new File(folder, "r." + regionX + "." + regionZ + ".mca");
+
+        // The methods are found by their signature because their names are obfuscated
+        Method synchronize = getMethod(IOWorker.class, CompletableFuture.class);
+        Method submitTask = getMethod(IOWorker.class, CompletableFuture.class, Supplier.class);
+        ((CompletableFuture<?>) synchronize.invoke(ioWorker)).get(30, TimeUnit.SECONDS);
+
+        Supplier<Either<Boolean, Exception>> deletion = () -> {
+            try {
+                RegionFile regionFile = cache.remove(ChunkCoordIntPair.pair(regionX, regionZ));
+                if (regionFile != null) regionFile.close();
+                Files.deleteIfExists(file.toPath());
+                return Either.left(true);
+            } catch (IOException exception) {
+                return Either.right(exception);
+            }
+        };
+        ((CompletableFuture<?>) submitTask.invoke(ioWorker, deletion)).get(30, TimeUnit.SECONDS);
+        return !file.exists();
+    }
+
+    /**
+     * Returns the value of the first field of a class with the provided type.
+     *
+     * @param object         The object whose field should be read
+     * @param declaringClass The class which declares the field
+     * @param type           The type of the field
+     * @return The value of the field
+     */
+    private <T> T getField(Object object, Class<?> declaringClass, Class<T> type) throws ReflectiveOperationException {
+        for (Field field : declaringClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || !type.isAssignableFrom(field.getType())) continue;
+            field.setAccessible(true);
+            return type.cast(field.get(object));
+        }
+        throw new NoSuchFieldException("No field of type " + type.getName() + " in " + declaringClass.getName());
+    }
+
+    /**
+     * Returns the first method of a class with the provided return type and parameter types.
+     *
+     * @param declaringClass The class which declares the method
+     * @param returnType     The return type of the method
+     * @param parameterTypes The parameter types of the method
+     * @return The accessible method
+     */
+    private Method getMethod(Class<?> declaringClass, Class<?> returnType, Class<?>... parameterTypes) throws NoSuchMethodException {
+        for (Method method : declaringClass.getDeclaredMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() != returnType) continue;
+            if (!Arrays.equals(method.getParameterTypes(), parameterTypes)) continue;
+            method.setAccessible(true);
+            return method;
+        }
+        throw new NoSuchMethodException("No method returning " + returnType.getName() + " with parameters " + Arrays.toString(parameterTypes) + " in " + declaringClass.getName());
+    }
+
+    /**
+     * Updates the heightmaps and the light of a chunk whose sections have been changed directly
+     * and sends it to the players.
+     *
+     * @param nmsChunk The chunk which has been changed
+     * @param players  The players which should see the updated chunk
+     */
+    private void updateChunk(Chunk nmsChunk, List<Player> players) {
+        HeightMap.a(nmsChunk, EnumSet.allOf(HeightMap.Type.class));
+        nmsChunk.markDirty();
+        // The light engine sends the updated light to the players when it's done
+        nmsChunk.getWorld().getChunkProvider().getLightEngine().a(nmsChunk, false);
+        sendChunk(players, nmsChunk.bukkitChunk);
+    }
+
     /**
      * Sends the provided chunk to all the specified players.
      * Used for updating chunks.
@@ -0,0 +1,158 @@
+package com.iridium.iridiumskyblock.utils;
+
+/**
+ * Various utils for working with the island grid.
+ * Islands are laid out in a square spiral around the first position at 0, 0.
+ * Function based of: https://stackoverflow.com/a/19287714.
+ */
+public class GridUtils {
+
+    /**
+     * Returns the x coordinate on the grid of the provided position.
+     *
+     * @param position The position on the spiral, starting at 1
+     * @return The x coordinate on the grid
+     */
+    public static int getGridX(int position) {
+        return getGridCoordinate(position, true);
+    }
+
+    /**
+     * Returns the z coordinate on the grid of the provided position.
+     *
+     * @param position The position on the spiral, starting at 1
+     * @return The z coordinate on the grid
+     */
+    public static int getGridZ(int position) {
+        return getGridCoordinate(position, false);
+    }
+
+    /**
+     * Returns the x coordinate of the center of the island at the provided position.
+     *
+     * @param position The position on the spiral, starting at 1
+     * @param distance The distance between islands
+     * @return The x coordinate of the center
+     */
+    public static double getCenterX(int position, int distance) {
+        if (position == 1) return 0;
+        return getGridX(position) * distance + 0.5;
+    }
+
+    /**
+     * Returns the z coordinate of the center of the island at the provided position.
+     *
+     * @param position The position on the spiral, starting at 1
+     * @param distance The distance between islands
+     * @return The z coordinate of the center
+     */
+    public static double getCenterZ(int position, int distance) {
+        if (position == 1) return 0;
+        return getGridZ(position) * distance + 0.5;
+    }
+
+    /**
+     * Returns the x or z coordinate of the center of an island which occupies whole region files.
+     *
+     * @param gridCoordinate The x or z coordinate on the grid
+     * @param spacing        The distance between islands, a multiple of the region size
+     * @return The x or z coordinate of the center
+     */
+    public static double getRegionAlignedCenter(int gridCoordinate, int spacing) {
+        return gridCoordinate * spacing + spacing / 2 + 0.5;
+    }
+
+    /**
+     * Returns the grid coordinate of the island which occupies whole region files and contains the provided block coordinate.
+     *
+     * @param blockCoordinate The x or z coordinate of a block
+     * @param spacing         The distance between islands, a multiple of the region size
+     * @return The grid coordinate
+     */
+    public static int getRegionAlignedGridCoordinate(int blockCoordinate, int spacing) {
+        return Math.floorDiv(blockCoordinate, spacing);
+    }
+
+    /**
+     * Walks the spiral and returns one of the grid coordinates of the provided position.
+     *
+     * @param position The position on the spiral, starting at 1
+     * @param xAxis    Whether the x or the z coordinate should be returned
+     * @return The grid coordinate
+     */
+    private static int getGridCoordinate(int position, boolean xAxis) {
+        if (position == 1) return 0;
+        // In this algorithm position 0 will be where we want position 2 to be and 1 will be where 3 is ect
+        int n = position - 2;
+
+        int r = (int) (Math.floor((Math.sqrt(n + 1) - 1) / 2) + 1);
+        // compute radius : inverse arithmetic sum of 8+16+24+...=
+
+        int p = (8 * r * (r - 1)) / 2;
+        // compute total point on radius -1 : arithmetic sum of 8+16+24+...
+
+        int en = r * 2;
+        // points by face
+
+        int a = (1 + n - p) % (r * 8);
+        // compute de position and shift it so the first is (-r,-r) but (-r+1,-r)
+        // so square can connect
+
+        switch (a / (r * 2)) {
+            case 0:
+                return xAxis ? a - r : -r;
+            case 1:
+                return xAxis ? r : (a % en) - r;
+            case 2:
+                return xAxis ? r - (a % en) : r;
+            case 3:
+                return xAxis ? -r : r - (a % en);
+            default:
+                throw new IllegalStateException("Could not find grid location of position: " + position);
+        }
+    }
+
+    /**
+     * Returns the position on the spiral of the provided grid coordinates.
+     * This is the inverse of {@link GridUtils#getGridX(int)} and {@link GridUtils#getGridZ(int)}.
+     *
+     * @param gridX The x coordinate on the grid
+     * @param gridZ The z coordinate on the grid
+     * @return The position on the spiral, starting at 1
+     */
+    public static int getPosition(int gridX, int gridZ) {
+        int r = Math.max(Math.abs(gridX), Math.abs(gridZ));
+        if (r == 0) return 1;
+
+        // Index on the ring, the first one is (-r,-r) and the ring is walked counter-clockwise
+        int a;
+        if (gridZ == -r && gridX < r) {
+            a = gridX + r;
+        } else if (gridX == r && gridZ < r) {
+            a = 3 * r + gridZ;
+        } else if (gridZ == r && gridX > -r) {
+            a = 5 * r - gridX;
+        } else {
+            a = 7 * r - gridZ;
+        }
+
+        int p = (8 * r * (r - 1)) / 2;
+        // (-r,-r) is the last point of the ring and not the first one
+        int n = p - 1 + (a == 0 ? r * 8 : a);
+
+        return n + 2;
+    }
+
+    /**
+     * Returns the grid coordinate whose island is closest to the provided block coordinate.
+     * The block does not have to be inside of the island, there might be a gap between islands.
+     *
+     * @param blockCoordinate The x or z coordinate of a block
+     * @param distance        The distance between islands
+     * @return The closest grid coordinate
+     */
+    public static int getGridCoordinate(int blockCoordinate, int distance) {
+        return (int) Math.round((blockCoordinate - 0.5) / distance);
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.iridium.iridiumskyblock.utils;
+
+import com.iridium.iridiumskyblock.BlockData;
+import com.iridium.iridiumskyblock.Schematic;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes schematics in a compact binary format.
+ * <p>
+ * Layout after the magic number, the version and the flags:
+ * <ul>
+ *     <li>length, height and width as varints</li>
+ *     <li>the palette: its size followed by the material name and data of every entry, index 0 is air</li>
+ *     <li>the palette index of every block in x, y, z order, bit-packed into longs</li>
+ *     <li>the inventories of containers: their amount followed by the block index and the serialized items</li>
+ * </ul>
+ * Everything after the flags is deflated if {@link SchematicSerializer#FLAG_DEFLATE} is set.
+ */
+public class SchematicSerializer {
+
+    private static final int MAGIC = 0x49534348;
+    private static final int VERSION = 1;
+    public static final int FLAG_DEFLATE = 1;
+
+    /**
+     * Writes a schematic in the binary format.
+     *
+     * @param schematic The schematic which should be written
+     * @param deflate   Whether or not the data should be compressed
+     * @return The binary schematic
+     */
+    public static byte[] serialize(@NotNull Schematic schematic, boolean deflate) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(byteArrayOutputStream)) {
+            header.writeInt(MAGIC);
+            header.writeByte(VERSION);
+            header.writeByte(deflate ? FLAG_DEFLATE : 0);
+            header.flush();
+
+            OutputStream payload = deflate ? new DeflaterOutputStream(byteArrayOutputStream) : byteArrayOutputStream;
+            DataOutputStream output = new DataOutputStream(payload);
+            writePayload(schematic, output);
+            // Finishes the compression
+            output.close();
+        } catch (IOException exception) {
+            // Can't happen when writing into memory
+            throw new UncheckedIOException(exception);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Reads a schematic in the binary format in a single pass.
+     *
+     * @param bytes The binary schematic
+     * @return The schematic
+     * @throws IOException If the data is not a valid binary schematic
+     */
+    public static @NotNull Schematic deserialize(byte[] bytes) throws IOException {
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (header.readInt() != MAGIC) throw new IOException("Not a binary schematic");
+        int version = header.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported schematic version: " + version);
+        int flags = header.readUnsignedByte();
+
+        InputStream payload = (flags & FLAG_DEFLATE) != 0 ? new InflaterInputStream(header) : header;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(payload))) {
+            return readPayload(input);
+        }
+    }
+
+    /**
+     * Returns whether or not the data starts like a binary schematic.
+     *
+     * @param bytes The data
+     * @return If the data is a binary schematic
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length >= 4 && ((bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF)) == MAGIC;
+    }
+
+    private static void writePayload(Schematic schematic, DataOutputStream output) throws IOException {
+        int length = schematic.getLength();
+        int height = schematic.getHeight();
+        int width = schematic.getWidth();
+        writeVarInt(output, length);
+        writeVarInt(output, height);
+        writeVarInt(output, width);
+
+        // Build the palette and the indices, index 0 is reserved for air
+        List<BlockData> palette = new ArrayList<>();
+        Map<String, Integer> paletteIndexes = new HashMap<>();
+        int[] indices = new int[length * height * width];
+        Map<Integer, List<String>> inventories = new TreeMap<>();
+        int i = 0;
+        for (int x = 0; x < length; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < width; z++, i++) {
+                    BlockData blockData = schematic.getBlockData()[x][y][z];
+                    if (blockData == null) continue;
+                    String key = blockData.getMaterial().name() + ":" + blockData.getData();
+                    Integer index = paletteIndexes.get(key);
+                    if (index == null) {
+                        palette.add(blockData);
+                        index = palette.size();
+                        paletteIndexes.put(key, index);
+                    }
+                    indices[i] = index;
+                    if (blockData.getInventory() != null) inventories.put(i, blockData.getInventory());
+                }
+            }
+        }
+
+        writeVarInt(output, palette.size());
+        for (BlockData blockData : palette) {
+            writeString(output, blockData.getMaterial().name());
+            output.writeByte(blockData.getData());
+        }
+
+        int bits = getBitsPerIndex(palette.size());
+        int indicesPerLong = Long.SIZE / bits;
+        for (int start = 0; start < indices.length; start += indicesPerLong) {
+            long packed = 0;
+            for (int j = 0; j < indicesPerLong && start + j < indices.length; j++) {
+                packed |= (long) indices[start + j] << (j * bits);
+            }
+            output.writeLong(packed);
+        }
+
+        writeVarInt(output, inventories.size());
+        for (Map.Entry<Integer, List<String>> inventory : inventories.entrySet()) {
+            writeVarInt(output, inventory.getKey());
+            writeVarInt(output, inventory.getValue().size());
+            for (String item : inventory.getValue()) {
+                output.writeBoolean(item != null);
+                if (item != null) writeString(output, item);
+            }
+        }
+    }
+
+    private static Schematic readPayload(DataInputStream input) throws IOException {
+        int length = readVarInt(input);
+        int height = readVarInt(input);
+        int width = readVarInt(input);
+
+        int paletteSize = readVarInt(input);
+        Material[] materials = new Material[paletteSize + 1];
+        byte[] data = new byte[paletteSize + 1];
+        for (int i = 1; i <= paletteSize; i++) {
+            String name = readString(input);
+            materials[i] = Material.getMaterial(name);
+            if (materials[i] == null) throw new IOException("Unknown material in schematic: " + name);
+            data[i] = input.readByte();
+        }
+
+        int volume = length * height * width;
+        int bits = getBitsPerIndex(paletteSize);
+        int indicesPerLong = Long.SIZE / bits;
+        long mask = (1L << bits) - 1;
+        int[] indices = new int[volume];
+        for (int start = 0; start < volume; start += indicesPerLong) {
+            long packed = input.readLong();
+            for (int j = 0; j < indicesPerLong && start + j < volume; j++) {
+                indices[start + j] = (int) ((packed >>> (j * bits)) & mask);
+            }
+        }
+
+        Map<Integer, List<String>> inventories = new HashMap<>();
+        int inventoryCount = readVarInt(input);
+        for (int i = 0; i < inventoryCount; i++) {
+            int position = readVarInt(input);
+            int size = readVarInt(input);
+            List<String> items = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                items.add(input.readBoolean() ? readString(input) : null);
+            }
+            inventories.put(position, items);
+        }
+
+        BlockData[][][] blockData = new BlockData[length][height][width];
+        int i = 0;
+        for (int x = 0; x < length; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < width; z++, i++) {
+                    int index = indices[i];
+                    if (index == 0) continue;
+                    if (index > paletteSize) throw new IOException("Invalid palette index in schematic: " + index);
+                    blockData[x][y][z] = new BlockData(materials[index], data[index], inventories.get(i));
+                }
+            }
+        }
+        return new Schematic(blockData, length, height, width);
+    }
+
+    /**
+     * Returns the amount of bits needed to store an index of the palette, including air.
+     */
+    private static int getBitsPerIndex(int paletteSize) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize));
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt is too long");
+    }
+
+    /**
+     * Strings are written with a varint length because serialized items can exceed the limit of writeUTF.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
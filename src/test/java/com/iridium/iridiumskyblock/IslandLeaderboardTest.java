@@ -0,0 +1,124 @@
+package com.iridium.iridiumskyblock;
+
+import com.iridium.iridiumskyblock.database.Island;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IslandLeaderboardTest {
+
+    @Test
+    public void ranksIslandsByValue() {
+        IslandLeaderboard leaderboard = new IslandLeaderboard();
+        Island first = createIsland(1, 50);
+        Island second = createIsland(2, 100);
+        Island third = createIsland(3, 10);
+        leaderboard.update(first);
+        leaderboard.update(second);
+        leaderboard.update(third);
+
+        assertEquals(Arrays.asList(second, first, third), leaderboard.getTop(10));
+        assertEquals(1, leaderboard.getRank(second));
+        assertEquals(2, leaderboard.getRank(first));
+        assertEquals(3, leaderboard.getRank(third));
+        assertEquals(3, leaderboard.size());
+    }
+
+    @Test
+    public void ordersIslandsWithTheSameValueByTheirId() {
+        IslandLeaderboard leaderboard = new IslandLeaderboard();
+        Island second = createIsland(2, 10);
+        Island first = createIsland(1, 10);
+        leaderboard.update(second);
+        leaderboard.update(first);
+
+        assertEquals(Arrays.asList(first, second), leaderboard.getTop(2));
+    }
+
+    @Test
+    public void movesIslandsWhenTheirValueChanges() {
+        IslandLeaderboard leaderboard = new IslandLeaderboard();
+        Island first = createIsland(1, 50);
+        Island second = createIsland(2, 100);
+        leaderboard.update(first);
+        leaderboard.update(second);
+
+        when(first.getValue()).thenReturn(150.0);
+        leaderboard.update(first);
+
+        assertEquals(Arrays.asList(first, second), leaderboard.getTop(2));
+        assertEquals(1, leaderboard.getRank(first));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    public void removesIslands() {
+        IslandLeaderboard leaderboard = new IslandLeaderboard();
+        Island first = createIsland(1, 50);
+        Island second = createIsland(2, 100);
+        leaderboard.update(first);
+        leaderboard.update(second);
+        leaderboard.remove(second);
+
+        assertEquals(Collections.singletonList(first), leaderboard.getTop(10));
+        assertEquals(0, leaderboard.getRank(second));
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    public void getTopIsLimitedToTheAmount() {
+        IslandLeaderboard leaderboard = new IslandLeaderboard();
+        for (int id = 1; id <= 20; id++) {
+            leaderboard.update(createIsland(id, id));
+        }
+
+        assertEquals(Arrays.asList(20, 19, 18), leaderboard.getTop(3).stream().map(Island::getId).collect(Collectors.toList()));
+        assertTrue(leaderboard.getTop(0).isEmpty());
+    }
+
+    @Test
+    public void matchesASortedListAfterRandomChanges() {
+        IslandLeaderboard leaderboard = new IslandLeaderboard();
+        Map<Integer, Island> islands = new HashMap<>();
+        Map<Integer, Double> values = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int change = 0; change < 5000; change++) {
+            int id = random.nextInt(300) + 1;
+            if (random.nextInt(5) == 0) {
+                Island island = islands.remove(id);
+                values.remove(id);
+                if (island != null) leaderboard.remove(island);
+                continue;
+            }
+            // Few distinct values, so many Islands have the same value
+            double value = random.nextInt(50);
+            Island island = islands.computeIfAbsent(id, islandId -> createIsland(islandId, value));
+            when(island.getValue()).thenReturn(value);
+            values.put(id, value);
+            leaderboard.update(island);
+        }
+
+        List<Island> expected = islands.values().stream()
+                .sorted(Comparator.comparingDouble((Island island) -> values.get(island.getId())).reversed().thenComparingInt(Island::getId))
+                .collect(Collectors.toList());
+        assertEquals(expected, leaderboard.getTop(expected.size() + 1));
+        assertEquals(expected.size(), leaderboard.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.getRank(expected.get(i)));
+        }
+    }
+
+    private Island createIsland(int id, double value) {
+        Island island = mock(Island.class);
+        when(island.getId()).thenReturn(id);
+        when(island.getValue()).thenReturn(value);
+        return island;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.iridium.iridiumskyblock.database;
+
+import com.iridium.iridiumskyblock.BlockData;
+import com.iridium.iridiumskyblock.Schematic;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchematicDataTest {
+
+    // A schematic with a chest, a stone block and air as it has been stored before the binary format
+    private static final String LEGACY_SCHEMATIC = "{\"blockData\":[[[{\"material\":\"CHEST\",\"data\":3,\"inventory\":[\"item\",null]},null]],"
+            + "[[{\"material\":\"STONE\",\"data\":0,\"inventory\":null},{\"material\":\"OAK_LOG\",\"data\":1,\"inventory\":null}]]],"
+            + "\"length\":2,\"height\":1,\"width\":2}";
+
+    @Test
+    public void readsTheLegacyFormat() {
+        SchematicData schematicData = new SchematicData("legacy", Base64.getEncoder().encodeToString(LEGACY_SCHEMATIC.getBytes(StandardCharsets.UTF_8)));
+        assertTrue(schematicData.isLegacyFormat());
+
+        Schematic schematic = schematicData.getSchematic();
+        assertEquals(2, schematic.getLength());
+        assertEquals(1, schematic.getHeight());
+        assertEquals(2, schematic.getWidth());
+        assertBlock(schematic.getBlockData()[0][0][0], Material.CHEST, 3);
+        assertEquals(Arrays.asList("item", null), schematic.getBlockData()[0][0][0].getInventory());
+        assertNull(schematic.getBlockData()[0][0][1]);
+        assertBlock(schematic.getBlockData()[1][0][0], Material.STONE, 0);
+        assertBlock(schematic.getBlockData()[1][0][1], Material.OAK_LOG, 1);
+    }
+
+    @Test
+    public void convertsTheLegacyFormat() {
+        SchematicData schematicData = new SchematicData("legacy", Base64.getEncoder().encodeToString(LEGACY_SCHEMATIC.getBytes(StandardCharsets.UTF_8)));
+        schematicData.setSchematic(schematicData.getSchematic());
+        assertFalse(schematicData.isLegacyFormat());
+
+        Schematic schematic = schematicData.getSchematic();
+        assertBlock(schematic.getBlockData()[0][0][0], Material.CHEST, 3);
+        assertEquals(Arrays.asList("item", null), schematic.getBlockData()[0][0][0].getInventory());
+        assertNull(schematic.getBlockData()[0][0][1]);
+        assertBlock(schematic.getBlockData()[1][0][1], Material.OAK_LOG, 1);
+    }
+
+    @Test
+    public void storesNewSchematicsInTheBinaryFormat() {
+        BlockData[][][] blockData = new BlockData[1][1][1];
+        blockData[0][0][0] = new BlockData(Material.DIRT, (byte) 0, null);
+        SchematicData schematicData = new SchematicData("binary", new Schematic(blockData, 1, 1, 1));
+
+        assertFalse(schematicData.isLegacyFormat());
+        assertBlock(schematicData.getSchematic().getBlockData()[0][0][0], Material.DIRT, 0);
+    }
+
+    private void assertBlock(BlockData blockData, Material material, int data) {
+        assertNotNull(blockData);
+        assertEquals(material, blockData.getMaterial());
+        assertEquals((byte) data, blockData.getData());
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.iridium.iridiumskyblock.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridUtilsTest {
+
+    private static final int POSITIONS = 100_000;
+
+    @Test
+    public void firstPositionIsAtTheOrigin() {
+        assertEquals(0, GridUtils.getGridX(1));
+        assertEquals(0, GridUtils.getGridZ(1));
+        assertEquals(1, GridUtils.getPosition(0, 0));
+    }
+
+    @Test
+    public void getPositionIsTheInverseOfTheGridCoordinates() {
+        for (int position = 1; position <= POSITIONS; position++) {
+            int gridX = GridUtils.getGridX(position);
+            int gridZ = GridUtils.getGridZ(position);
+            assertEquals(position, GridUtils.getPosition(gridX, gridZ), "Position " + position + " at " + gridX + ", " + gridZ);
+        }
+    }
+
+    @Test
+    public void everyGridCoordinateHasOnePosition() {
+        Set<Long> gridCoordinates = new HashSet<>();
+        for (int position = 1; position <= POSITIONS; position++) {
+            long key = (long) GridUtils.getGridX(position) << 32 | GridUtils.getGridZ(position) & 0xFFFFFFFFL;
+            assertTrue(gridCoordinates.add(key), "Position " + position + " uses the coordinates of another position");
+        }
+    }
+
+    @Test
+    public void everyRingIsFilledBeforeTheNextOne() {
+        for (int radius = 0; radius <= 20; radius++) {
+            int ringSize = (2 * radius + 1) * (2 * radius + 1);
+            for (int gridX = -radius; gridX <= radius; gridX++) {
+                for (int gridZ = -radius; gridZ <= radius; gridZ++) {
+                    assertTrue(GridUtils.getPosition(gridX, gridZ) <= ringSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void islandCentersBelongToTheirGridCoordinate() {
+        int distance = 151;
+        for (int gridCoordinate = -50; gridCoordinate <= 50; gridCoordinate++) {
+            assertEquals(gridCoordinate, GridUtils.getGridCoordinate(gridCoordinate * distance, distance));
+        }
+    }
+
+    @Test
+    public void regionAlignedIslandsContainTheirCenter() {
+        int spacing = 1024;
+        for (int gridCoordinate = -50; gridCoordinate <= 50; gridCoordinate++) {
+            int center = (int) Math.floor(GridUtils.getRegionAlignedCenter(gridCoordinate, spacing));
+            assertEquals(gridCoordinate, GridUtils.getRegionAlignedGridCoordinate(center, spacing));
+            assertEquals(gridCoordinate, GridUtils.getRegionAlignedGridCoordinate(gridCoordinate * spacing, spacing));
+            assertEquals(gridCoordinate, GridUtils.getRegionAlignedGridCoordinate(gridCoordinate * spacing + spacing - 1, spacing));
+        }
+    }
+
+}
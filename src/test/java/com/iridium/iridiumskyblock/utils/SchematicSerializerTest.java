@@ -0,0 +1,115 @@
+package com.iridium.iridiumskyblock.utils;
+
+import com.iridium.iridiumskyblock.BlockData;
+import com.iridium.iridiumskyblock.Schematic;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchematicSerializerTest {
+
+    private static final Material[] MATERIALS = {Material.STONE, Material.DIRT, Material.GRASS_BLOCK, Material.OAK_LOG, Material.WHITE_WOOL, Material.WATER, Material.SAND};
+
+    @Test
+    public void roundTripKeepsMaterialsAndData() throws IOException {
+        Schematic schematic = createSchematic(12, 20, 9, new Random(42));
+        assertSchematicEquals(schematic, SchematicSerializer.deserialize(SchematicSerializer.serialize(schematic, false)));
+        assertSchematicEquals(schematic, SchematicSerializer.deserialize(SchematicSerializer.serialize(schematic, true)));
+    }
+
+    @Test
+    public void roundTripKeepsContainerInventories() throws IOException {
+        BlockData[][][] blockData = new BlockData[2][1][2];
+        blockData[0][0][0] = new BlockData(Material.CHEST, (byte) 2, Arrays.asList("item-1", null, "item-2 with a long name " + repeat('x', 70_000)));
+        blockData[1][0][1] = new BlockData(Material.BARREL, (byte) 0, Arrays.asList(null, null));
+        blockData[1][0][0] = new BlockData(Material.STONE, (byte) 0, null);
+        Schematic schematic = new Schematic(blockData, 2, 1, 2);
+
+        assertSchematicEquals(schematic, SchematicSerializer.deserialize(SchematicSerializer.serialize(schematic, true)));
+    }
+
+    @Test
+    public void roundTripKeepsEmptySchematics() throws IOException {
+        Schematic schematic = new Schematic(new BlockData[3][3][3], 3, 3, 3);
+        assertSchematicEquals(schematic, SchematicSerializer.deserialize(SchematicSerializer.serialize(schematic, true)));
+    }
+
+    @Test
+    public void roundTripKeepsLargePalettes() throws IOException {
+        // More than 256 distinct blocks need more than 8 bits per index
+        BlockData[][][] blockData = new BlockData[20][1][20];
+        for (int x = 0; x < 20; x++) {
+            for (int z = 0; z < 20; z++) {
+                blockData[x][0][z] = new BlockData(MATERIALS[(x * 20 + z) % MATERIALS.length], (byte) (x * 20 + z), null);
+            }
+        }
+        Schematic schematic = new Schematic(blockData, 20, 1, 20);
+        assertSchematicEquals(schematic, SchematicSerializer.deserialize(SchematicSerializer.serialize(schematic, false)));
+    }
+
+    @Test
+    public void detectsTheBinaryFormat() {
+        Schematic schematic = createSchematic(2, 2, 2, new Random(1));
+        assertTrue(SchematicSerializer.isBinary(SchematicSerializer.serialize(schematic, true)));
+        assertFalse(SchematicSerializer.isBinary("{\"blockData\":[]}".getBytes()));
+        assertFalse(SchematicSerializer.isBinary(new byte[2]));
+    }
+
+    @Test
+    public void rejectsInvalidData() {
+        assertThrows(IOException.class, () -> SchematicSerializer.deserialize("{\"blockData\":[]}".getBytes()));
+
+        byte[] bytes = SchematicSerializer.serialize(createSchematic(2, 2, 2, new Random(1)), false);
+        bytes[4] = 99;
+        assertThrows(IOException.class, () -> SchematicSerializer.deserialize(bytes));
+    }
+
+    private Schematic createSchematic(int length, int height, int width, Random random) {
+        BlockData[][][] blockData = new BlockData[length][height][width];
+        for (int x = 0; x < length; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < width; z++) {
+                    // Some of the blocks are air
+                    if (random.nextInt(4) == 0) continue;
+                    blockData[x][y][z] = new BlockData(MATERIALS[random.nextInt(MATERIALS.length)], (byte) random.nextInt(16), null);
+                }
+            }
+        }
+        return new Schematic(blockData, length, height, width);
+    }
+
+    private void assertSchematicEquals(Schematic expected, Schematic actual) {
+        assertEquals(expected.getLength(), actual.getLength());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        for (int x = 0; x < expected.getLength(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                for (int z = 0; z < expected.getWidth(); z++) {
+                    BlockData expectedBlock = expected.getBlockData()[x][y][z];
+                    BlockData actualBlock = actual.getBlockData()[x][y][z];
+                    String position = "Block at " + x + ", " + y + ", " + z;
+                    if (expectedBlock == null) {
+                        assertNull(actualBlock, position);
+                        continue;
+                    }
+                    assertNotNull(actualBlock, position);
+                    assertEquals(expectedBlock.getMaterial(), actualBlock.getMaterial(), position);
+                    assertEquals(expectedBlock.getData(), actualBlock.getData(), position);
+                    assertEquals(expectedBlock.getInventory(), actualBlock.getInventory(), position);
+                }
+            }
+        }
+    }
+
+    private String repeat(char character, int amount) {
+        char[] characters = new char[amount];
+        Arrays.fill(characters, character);
+        return new String(characters);
+    }
+
+}